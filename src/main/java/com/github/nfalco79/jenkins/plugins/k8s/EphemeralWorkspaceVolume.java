@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud.DEFAULT_POD_LABELS;
+
+import java.util.Objects;
+
+import org.csanchez.jenkins.plugins.kubernetes.volumes.workspace.WorkspaceVolume;
+import org.jenkinsci.Symbol;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.DoNotUse;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.Descriptor;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeBuilder;
+
+/**
+ * Workspace volume for jobs that do not need to keep their workspace between
+ * builds.
+ * <p>
+ * The claim is defined inline in the pod as generic ephemeral volume, the
+ * kubelet creates it with the pod and removes it together with the pod so the
+ * controller does not make any call to the claim API.
+ *
+ * @author Nikolas Falco
+ */
+@SuppressWarnings("serial")
+public class EphemeralWorkspaceVolume extends WorkspaceVolume {
+    private final String storageClassName;
+    private final String requestsSize;
+    private final String accessModes;
+
+    @DataBoundConstructor
+    public EphemeralWorkspaceVolume(String storageClassName, String requestsSize, String accessModes) {
+        this.storageClassName = Util.fixEmptyAndTrim(storageClassName);
+        this.requestsSize = Util.fixEmptyAndTrim(requestsSize);
+        this.accessModes = Util.fixEmptyAndTrim(accessModes);
+    }
+
+    @CheckForNull
+    public String getStorageClassName() {
+        return storageClassName;
+    }
+
+    @CheckForNull
+    public String getRequestsSize() {
+        return requestsSize;
+    }
+
+    @CheckForNull
+    public String getAccessModes() {
+        return accessModes;
+    }
+
+    @Override
+    public Volume buildVolume(String volumeName, String podName) {
+        return new VolumeBuilder() //
+                .withName(volumeName) //
+                .withNewEphemeral() //
+                .withNewVolumeClaimTemplate() //
+                .withNewMetadata() //
+                .withLabels(DEFAULT_POD_LABELS) //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes(accessModes != null ? accessModes : K8sConstants.DEFAULT_ACCESS_MODES) //
+                .withNewResources() //
+                .addToRequests("storage", Quantity.parse(requestsSize != null ? requestsSize : K8sConstants.DEFAULT_REQUESTS_SIZE)) //
+                .endResources() //
+                .withStorageClassName(storageClassName) //
+                .endSpec() //
+                .endVolumeClaimTemplate() //
+                .endEphemeral() //
+                .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        EphemeralWorkspaceVolume that = (EphemeralWorkspaceVolume) o;
+        return Objects.equals(storageClassName, that.storageClassName) &&
+                Objects.equals(requestsSize, that.requestsSize) &&
+                Objects.equals(accessModes, that.accessModes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(storageClassName, requestsSize, accessModes);
+    }
+
+    @Extension
+    @Symbol("ephemeralPVC")
+    public static class DescriptorImpl extends Descriptor<WorkspaceVolume> {
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.EphemeralWorkspaceVolume_displayName();
+        }
+
+        @RequirePOST
+        @Restricted(DoNotUse.class) // stapler only
+        public ListBoxModel doFillAccessModesItems() {
+            return PVCFormValidation.getAccessModes();
+        }
+
+        @Restricted(DoNotUse.class) // stapler only
+        public FormValidation doCheckRequestsSize(@QueryParameter String value) {
+            return PVCFormValidation.checkRequestsSize(value);
+        }
+
+        @Restricted(DoNotUse.class) // stapler only
+        public FormValidation doCheckStorageClassName(@QueryParameter String value) {
+            return PVCFormValidation.checkStorageClassName(value);
+        }
+    }
+}
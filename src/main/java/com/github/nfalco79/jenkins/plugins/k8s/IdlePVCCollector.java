@@ -0,0 +1,361 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+import static java.util.logging.Level.WARNING;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud;
+import org.jenkinsci.plugins.kubernetes.auth.KubernetesAuthException;
+
+import com.codahale.metrics.Timer.Context;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.util.LogTaskListener;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+
+/**
+ * Removes the claims of jobs that no longer exist or that have not built
+ * for a configurable time.
+ * <p>
+ * Only claims created by {@link JobPVCWorkspaceVolume} are considered. The
+ * claims of deleted jobs are removed only when enabled and after a grace
+ * period, claims named by a previous version of the plugin, also the ones
+ * that released versions created without label, are moved to the claim name
+ * the job uses now. Claims are deleted in batches with a pause
+ * between them to not overload the API server and the storage provisioner.
+ *
+ * @author Nikolas Falco
+ */
+@Extension
+public class IdlePVCCollector extends AsyncPeriodicWork {
+    private static final Logger LOGGER = Logger.getLogger(IdlePVCCollector.class.getName());
+
+    private static final long RECURRENCE_PERIOD = Long.getLong(IdlePVCCollector.class.getName() + ".recurrencePeriod", TimeUnit.HOURS.toMillis(1));
+    private static final long BATCH_PAUSE = Long.getLong(IdlePVCCollector.class.getName() + ".batchPause", TimeUnit.SECONDS.toMillis(5));
+
+    public IdlePVCCollector() {
+        super("Idle PVC collector");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return RECURRENCE_PERIOD;
+    }
+
+    @Override
+    protected void execute(TaskListener listener) throws IOException, InterruptedException {
+        ProvisioningConfiguration config = ProvisioningConfiguration.get();
+        collect(listener, config.getIdleDays(), getOrphanGraceDays(config), config.isCollectorDryRun(), config.getCollectorBatchSize());
+    }
+
+    private static int getOrphanGraceDays(ProvisioningConfiguration config) {
+        return config.isCollectOrphans() ? config.getOrphanGraceDays() : -1;
+    }
+
+    /**
+     * Collects the claims of jobs that have been deleted while the controller
+     * was not running and migrates the claims named by a previous version of
+     * the plugin before the jobs build again.
+     */
+    @Initializer(after = InitMilestone.JOB_CONFIG_ADAPTED)
+    public static void reconcile() {
+        Timer.get().submit(() -> {
+            ProvisioningConfiguration config = ProvisioningConfiguration.get();
+            try {
+                ExtensionList.lookupSingleton(IdlePVCCollector.class).collect(new LogTaskListener(LOGGER, INFO), 0, getOrphanGraceDays(config), config.isCollectorDryRun(), config.getCollectorBatchSize());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Deletes the orphan claims and, when idle days is positive, the claims of
+     * jobs that have not built for that number of days.
+     * <p>
+     * A job that fails to load looks like a deleted job, so a claim without
+     * its job is marked the first time it is found and removed only when it
+     * is still without its job after the grace days.
+     *
+     * @param listener where report the collected claims
+     * @param idleDays the number of days after that a claim of a job that does
+     *        not build is removed, 0 to collect only claims of deleted jobs
+     * @param orphanGraceDays the number of days after that a claim of a job
+     *        that does not exist is removed, negative to keep them
+     * @param dryRun if {@code true} the claims are only reported
+     * @param batchSize the number of claims deleted before pause
+     * @throws InterruptedException if interrupted during the pause between
+     *         batches
+     */
+    public void collect(@NonNull TaskListener listener, int idleDays, int orphanGraceDays, boolean dryRun, int batchSize) throws InterruptedException {
+        long now = System.currentTimeMillis();
+        long threshold = idleDays > 0 ? now - TimeUnit.DAYS.toMillis(idleDays) : -1;
+        long orphanThreshold = orphanGraceDays >= 0 ? now - TimeUnit.DAYS.toMillis(orphanGraceDays) : -1;
+        Map<String, String> legacyNames = null;
+        for (KubernetesCloud cloud : Jenkins.get().clouds.getAll(KubernetesCloud.class)) {
+            try {
+                KubernetesClient client = cloud.connect();
+                String namespace = client.getNamespace();
+                List<PersistentVolumeClaim> candidates = new ArrayList<>();
+                for (PersistentVolumeClaim pvc : PersistentVolumeClaimCache.list(client, namespace)) {
+                    String reason = getReason(client, pvc, threshold, orphanThreshold, dryRun);
+                    if (reason != null) {
+                        listener.getLogger().println((dryRun ? "[dry-run] " : "") + "Collect PVC " + namespace + "/" + pvc.getMetadata().getName() + ": " + reason);
+                        candidates.add(pvc);
+                    } else if (isNamedByPreviousVersion(pvc)) {
+                        migrate(listener, client, pvc, dryRun);
+                    } else if (isReleasedVersionCandidate(pvc)) {
+                        if (legacyNames == null) {
+                            // computed only when there are claims to check
+                            legacyNames = getLegacyNames();
+                        }
+                        String jobName = legacyNames.get(pvc.getMetadata().getName());
+                        if (jobName != null) {
+                            adopt(listener, client, pvc, jobName, dryRun);
+                        }
+                    }
+                }
+                if (!dryRun) {
+                    delete(client, candidates, Math.max(batchSize, 1));
+                }
+            } catch (KubernetesAuthException | IOException | KubernetesClientException e) {
+                LOGGER.log(WARNING, "Can not collect idle PVC of cloud " + cloud.name, e);
+            }
+        }
+    }
+
+    private void delete(KubernetesClient client, List<PersistentVolumeClaim> candidates, int batchSize) throws InterruptedException {
+        for (int i = 0; i < candidates.size(); i++) {
+            if (i > 0 && i % batchSize == 0) {
+                Thread.sleep(BATCH_PAUSE);
+            }
+            PersistentVolumeClaim pvc = candidates.get(i);
+            try (Context ctx = ProvisioningMetrics.PVC_DELETE.time()) {
+                client.persistentVolumeClaims().resource(pvc).delete();
+            }
+            LOGGER.log(INFO, "Removed PVC: {0}/{1}", new Object[] { pvc.getMetadata().getNamespace(), pvc.getMetadata().getName() });
+        }
+    }
+
+    private void migrate(TaskListener listener, KubernetesClient client, PersistentVolumeClaim pvc, boolean dryRun) {
+        String namespace = pvc.getMetadata().getNamespace();
+        String jobName = pvc.getMetadata().getAnnotations().get(K8sConstants.ANNOTATION_JOB);
+        listener.getLogger().println((dryRun ? "[dry-run] " : "") + "Migrate PVC " + namespace + "/" + pvc.getMetadata().getName() + " to " + PVCUtil.normalize(jobName));
+        if (dryRun) {
+            return;
+        }
+        try {
+            if (!PVCRelocation.migrate(client, pvc, jobName)) {
+                listener.getLogger().println("PVC " + namespace + "/" + pvc.getMetadata().getName() + " can not be cloned, it is kept");
+            }
+        } catch (KubernetesClientException e) {
+            // retried at the next run
+            LOGGER.log(WARNING, "Can not migrate PVC " + namespace + "/" + pvc.getMetadata().getName(), e);
+        }
+    }
+
+    /*
+     * Assigns a claim created by a released version of the plugin, without
+     * label and annotations, to its job and moves it to the claim name the
+     * job uses now.
+     */
+    private void adopt(TaskListener listener, KubernetesClient client, PersistentVolumeClaim pvc, String jobName, boolean dryRun) {
+        String namespace = pvc.getMetadata().getNamespace();
+        if (dryRun) {
+            listener.getLogger().println("[dry-run] Migrate PVC " + namespace + "/" + pvc.getMetadata().getName() + " to " + PVCUtil.normalize(jobName));
+            return;
+        }
+        PersistentVolumeClaim assigned;
+        try {
+            // assigned first, if the clone fails the claim is migrated or collected as any other claim of the job
+            assigned = client.persistentVolumeClaims().inNamespace(namespace).withName(pvc.getMetadata().getName()).edit(p -> new PersistentVolumeClaimBuilder(p) //
+                    .editMetadata() //
+                    .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                    .addToAnnotations(K8sConstants.ANNOTATION_JOB, jobName) //
+                    .endMetadata() //
+                    .build());
+        } catch (KubernetesClientException e) {
+            // retried at the next run
+            LOGGER.log(WARNING, "Can not assign PVC " + namespace + "/" + pvc.getMetadata().getName() + " to job " + jobName, e);
+            return;
+        }
+        migrate(listener, client, assigned, false);
+    }
+
+    /*
+     * A claim without label could have been created by a released version of
+     * the plugin, that named the claim of a job in another way.
+     */
+    private static boolean isReleasedVersionCandidate(PersistentVolumeClaim pvc) {
+        Map<String, String> labels = pvc.getMetadata().getLabels();
+        // warm pool claims are not assigned to a job yet
+        return (labels == null || !labels.containsKey(K8sConstants.LABEL_MANAGED) && !labels.containsKey(K8sConstants.LABEL_POOL)) //
+                && pvc.getMetadata().getDeletionTimestamp() == null //
+                && pvc.getMetadata().getName().startsWith("pvc-");
+    }
+
+    /*
+     * Returns the claim names of the released versions of the plugin that
+     * differ from the current ones, mapped to their job. A name shared by
+     * more jobs, or that another job uses now, is left out, the owner of its
+     * claim is unknown.
+     */
+    private static Map<String, String> getLegacyNames() {
+        Map<String, String> names = new HashMap<>();
+        Set<String> excluded = new HashSet<>();
+        for (Job<?, ?> job : Jenkins.get().allItems(Job.class)) {
+            String jobName = job.getFullName();
+            String pvcName = PVCUtil.normalize(jobName);
+            String legacyName = PVCUtil.legacyNormalize(jobName);
+            excluded.add(pvcName);
+            if (legacyName != null && !legacyName.equals(pvcName) && names.putIfAbsent(legacyName, jobName) != null) {
+                excluded.add(legacyName);
+            }
+        }
+        names.keySet().removeAll(excluded);
+        return names;
+    }
+
+    private static boolean isManaged(PersistentVolumeClaim pvc) {
+        Map<String, String> labels = pvc.getMetadata().getLabels();
+        return labels != null && "true".equals(labels.get(K8sConstants.LABEL_MANAGED)) //
+                && pvc.getMetadata().getAnnotations() != null //
+                && pvc.getMetadata().getDeletionTimestamp() == null;
+    }
+
+    /*
+     * A claim named by a previous version of the plugin for a job that now
+     * uses a claim with another name.
+     */
+    private static boolean isNamedByPreviousVersion(PersistentVolumeClaim pvc) {
+        if (!isManaged(pvc)) {
+            return false;
+        }
+        Map<String, String> annotations = pvc.getMetadata().getAnnotations();
+        String jobName = annotations.get(K8sConstants.ANNOTATION_JOB);
+        if (jobName == null || annotations.containsKey(K8sConstants.ANNOTATION_MOVED_TO) || Jenkins.get().getItemByFullName(jobName, Job.class) == null) {
+            return false;
+        }
+        String jobPVCName = annotations.getOrDefault(K8sConstants.ANNOTATION_SHARD_OF, pvc.getMetadata().getName());
+        return !jobPVCName.equals(PVCUtil.normalize(jobName));
+    }
+
+    @CheckForNull
+    private String getReason(KubernetesClient client, PersistentVolumeClaim pvc, long threshold, long orphanThreshold, boolean dryRun) {
+        if (!isManaged(pvc)) {
+            return null;
+        }
+        Map<String, String> annotations = pvc.getMetadata().getAnnotations();
+        if (annotations.containsKey(K8sConstants.ANNOTATION_MOVED_TO)) {
+            // the job has been renamed or moved, keep the source until the clone is bound
+            return PVCRelocation.isMoveCompleted(client, pvc) ? "moved to " + annotations.get(K8sConstants.ANNOTATION_MOVED_TO) : null;
+        }
+        String jobName = annotations.get(K8sConstants.ANNOTATION_JOB);
+        if (jobName == null) {
+            return null;
+        }
+
+        Job<?, ?> job = Jenkins.get().getItemByFullName(jobName, Job.class);
+        if (job == null) {
+            if (orphanThreshold < 0) {
+                return null;
+            }
+            long orphanSince = markOrphan(client, pvc, dryRun);
+            return orphanSince < orphanThreshold ? "job " + jobName + " does not exist since " + Instant.ofEpochMilli(orphanSince) : null;
+        }
+        if (annotations.containsKey(K8sConstants.ANNOTATION_ORPHAN_SINCE) && !dryRun) {
+            // the job was not loaded yet or has been restored
+            client.persistentVolumeClaims().inNamespace(pvc.getMetadata().getNamespace()).withName(pvc.getMetadata().getName()).edit(p -> new PersistentVolumeClaimBuilder(p) //
+                    .editMetadata() //
+                    .removeFromAnnotations(K8sConstants.ANNOTATION_ORPHAN_SINCE) //
+                    .endMetadata() //
+                    .build());
+        }
+        String jobPVCName = annotations.getOrDefault(K8sConstants.ANNOTATION_SHARD_OF, pvc.getMetadata().getName());
+        if (threshold < 0 || !jobPVCName.equals(PVCUtil.normalize(jobName))) {
+            // a claim named by a previous version of the plugin is migrated first
+            return null;
+        }
+        Run<?, ?> lastBuild = job.getLastBuild();
+        long lastUse = lastBuild != null ? lastBuild.getTimeInMillis() : Instant.parse(pvc.getMetadata().getCreationTimestamp()).toEpochMilli();
+        if (lastUse < threshold && !job.isBuilding()) {
+            return "job " + jobName + " has not built since " + Instant.ofEpochMilli(lastUse);
+        }
+        return null;
+    }
+
+    /*
+     * Returns since when the claim is without its job, marking the claim the
+     * first time unless in dry run.
+     */
+    private long markOrphan(KubernetesClient client, PersistentVolumeClaim pvc, boolean dryRun) {
+        String since = pvc.getMetadata().getAnnotations().get(K8sConstants.ANNOTATION_ORPHAN_SINCE);
+        if (since == null && dryRun) {
+            // found now, it is only reported
+            return System.currentTimeMillis();
+        } else if (since == null) {
+            String now = Instant.now().toString();
+            // the cache could be stale, do not restart the grace period of a claim already marked
+            PersistentVolumeClaim marked = client.persistentVolumeClaims().inNamespace(pvc.getMetadata().getNamespace()).withName(pvc.getMetadata().getName()).edit(p -> {
+                Map<String, String> annotations = p.getMetadata().getAnnotations();
+                if (annotations != null && annotations.containsKey(K8sConstants.ANNOTATION_ORPHAN_SINCE)) {
+                    return p;
+                }
+                return new PersistentVolumeClaimBuilder(p) //
+                        .editMetadata() //
+                        .addToAnnotations(K8sConstants.ANNOTATION_ORPHAN_SINCE, now) //
+                        .endMetadata() //
+                        .build();
+            });
+            since = marked.getMetadata().getAnnotations().get(K8sConstants.ANNOTATION_ORPHAN_SINCE);
+        }
+        try {
+            return Instant.parse(since).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            LOGGER.log(FINE, "Invalid orphan timestamp {0} on PVC {1}", new Object[] { since, pvc.getMetadata().getName() });
+            return System.currentTimeMillis();
+        }
+    }
+}
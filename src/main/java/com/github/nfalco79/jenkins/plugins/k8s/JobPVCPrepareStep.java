@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static java.util.logging.Level.WARNING;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud;
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesFolderProperty;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.springframework.security.core.Authentication;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.slaves.Cloud;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+
+/**
+ * Starts the provisioning of the job claim in background, so that the agent
+ * pod that uses the {@link JobPVCWorkspaceVolume} later in the pipeline finds
+ * it already bound.
+ * <p>
+ * The claim is built by the same {@link JobPVCWorkspaceVolume} for the job of
+ * the running build, a pod launched while the provisioning is still in
+ * progress waits for it instead of starting a new one. The provisioning runs
+ * with the authentication of the build on a cloud the job is allowed to use.
+ *
+ * @author Nikolas Falco
+ */
+public class JobPVCPrepareStep extends Step {
+
+    private final String requestsSize;
+    private String storageClassName;
+    private String accessModes;
+    private SeedStrategy seedStrategy = SeedStrategy.NONE;
+    private String seedFrom;
+    private String cloud;
+    private int shards;
+    private boolean waitForBound;
+
+    @DataBoundConstructor
+    public JobPVCPrepareStep(@NonNull String requestsSize) {
+        this.requestsSize = requestsSize;
+    }
+
+    public String getRequestsSize() {
+        return requestsSize;
+    }
+
+    @CheckForNull
+    public String getStorageClassName() {
+        return storageClassName;
+    }
+
+    @DataBoundSetter
+    public void setStorageClassName(String storageClassName) {
+        this.storageClassName = Util.fixEmptyAndTrim(storageClassName);
+    }
+
+    @CheckForNull
+    public String getAccessModes() {
+        return accessModes;
+    }
+
+    @DataBoundSetter
+    public void setAccessModes(String accessModes) {
+        this.accessModes = Util.fixEmptyAndTrim(accessModes);
+    }
+
+    @NonNull
+    public SeedStrategy getSeedStrategy() {
+        return seedStrategy == null ? SeedStrategy.NONE : seedStrategy;
+    }
+
+    @DataBoundSetter
+    public void setSeedStrategy(SeedStrategy seedStrategy) {
+        this.seedStrategy = seedStrategy;
+    }
+
+    @CheckForNull
+    public String getSeedFrom() {
+        return seedFrom;
+    }
+
+    @DataBoundSetter
+    public void setSeedFrom(String seedFrom) {
+        this.seedFrom = Util.fixEmptyAndTrim(seedFrom);
+    }
+
+    @CheckForNull
+    public String getCloud() {
+        return cloud;
+    }
+
+    /**
+     * Sets the name of the Kubernetes cloud where the agent pod is launched,
+     * by default the first Kubernetes cloud.
+     *
+     * @param cloud the cloud name
+     */
+    @DataBoundSetter
+    public void setCloud(String cloud) {
+        this.cloud = Util.fixEmptyAndTrim(cloud);
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    /**
+     * Sets the number of shards configured in the workspace volume of the pod
+     * template, all shards are prepared.
+     *
+     * @param shards the number of claims
+     */
+    @DataBoundSetter
+    public void setShards(int shards) {
+        this.shards = Math.max(shards, 0);
+    }
+
+    public boolean isWaitForBound() {
+        return waitForBound;
+    }
+
+    /**
+     * Sets if the step waits the claims are bound instead of returning as
+     * soon as the provisioning is started.
+     *
+     * @param waitForBound {@code true} to wait the claims are bound
+     */
+    @DataBoundSetter
+    public void setWaitForBound(boolean waitForBound) {
+        this.waitForBound = waitForBound;
+    }
+
+    @Override
+    public StepExecution start(StepContext context) throws Exception {
+        return new Execution(this, context);
+    }
+
+    private static class Execution extends StepExecution {
+        private static final long serialVersionUID = 1L;
+        private static final Logger LOGGER = Logger.getLogger(JobPVCPrepareStep.class.getName());
+
+        private final transient JobPVCPrepareStep step;
+
+        Execution(JobPVCPrepareStep step, StepContext context) {
+            super(context);
+            this.step = step;
+        }
+
+        @Override
+        public boolean start() throws Exception {
+            Run<?, ?> run = getContext().get(Run.class);
+            TaskListener listener = getContext().get(TaskListener.class);
+
+            // the claim of another job can not be prepared, it would be resized or recreated
+            JobPVCWorkspaceVolume volume = new JobPVCWorkspaceVolume(run.getParent().getFullName(), step.storageClassName, step.requestsSize, step.accessModes);
+            volume.setSeedStrategy(step.getSeedStrategy());
+            volume.setSeedFrom(step.seedFrom);
+            volume.setShards(step.shards);
+            volume.setWaitForBound(step.waitForBound);
+
+            KubernetesCloud kubernetesCloud = getCloud(step.cloud);
+            checkAccess(run, kubernetesCloud);
+            KubernetesClient client = kubernetesCloud.connect();
+            String namespace = Util.fixEmpty(kubernetesCloud.getNamespace()) != null ? kubernetesCloud.getNamespace() : client.getNamespace();
+            String pvcName = volume.getPvcName(null);
+
+            listener.getLogger().println(Messages.JobPVCPrepareStep_started(namespace, pvcName, kubernetesCloud.name));
+            // the job is looked up with the permissions of the build, not of the system
+            Authentication auth = Jenkins.getAuthentication2();
+            boolean wait = step.waitForBound;
+            Timer.get().submit(() -> {
+                try (ACLContext ctx = ACL.as2(auth)) {
+                    volume.prepare(client, namespace);
+                    if (wait) {
+                        getContext().onSuccess(null);
+                    }
+                } catch (RuntimeException e) {
+                    if (wait) {
+                        getContext().onFailure(e);
+                    } else {
+                        // the agent pod will try again
+                        LOGGER.log(WARNING, "Can not prepare PVC " + namespace + "/" + pvcName, e);
+                    }
+                }
+            });
+            if (!wait) {
+                getContext().onSuccess(null);
+            }
+            return !wait;
+        }
+
+        @Override
+        public void onResume() {
+            // the provisioning has been lost with the restart, the agent pod provisions the claim
+            getContext().onSuccess(null);
+        }
+
+        private void checkAccess(Run<?, ?> run, KubernetesCloud kubernetesCloud) throws AbortException {
+            if (kubernetesCloud.isUsageRestricted()) {
+                Set<String> allowedClouds = new HashSet<>();
+                KubernetesFolderProperty.collectAllowedClouds(allowedClouds, run.getParent().getParent());
+                if (!allowedClouds.contains(kubernetesCloud.name)) {
+                    throw new AbortException(Messages.JobPVCPrepareStep_notAllowed(kubernetesCloud.name));
+                }
+            }
+        }
+
+        private KubernetesCloud getCloud(String name) throws AbortException {
+            if (name == null) {
+                KubernetesCloud kubernetesCloud = Jenkins.get().clouds.get(KubernetesCloud.class);
+                if (kubernetesCloud == null) {
+                    throw new AbortException(Messages.JobPVCPrepareStep_noCloud());
+                }
+                return kubernetesCloud;
+            }
+            Cloud kubernetesCloud = Jenkins.get().getCloud(name);
+            if (!(kubernetesCloud instanceof KubernetesCloud)) {
+                throw new AbortException(Messages.JobPVCPrepareStep_cloudNotFound(name));
+            }
+            return (KubernetesCloud) kubernetesCloud;
+        }
+    }
+
+    @Extension
+    public static class DescriptorImpl extends StepDescriptor {
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return Set.of(Run.class, TaskListener.class);
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "jobPVCPrepare";
+        }
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.JobPVCPrepareStep_displayName();
+        }
+    }
+}
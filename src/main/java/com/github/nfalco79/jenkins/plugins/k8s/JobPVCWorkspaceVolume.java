@@ -17,10 +17,20 @@
 package com.github.nfalco79.jenkins.plugins.k8s;
 
 import static java.util.logging.Level.INFO;
+import static java.util.logging.Level.WARNING;
 import static org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud.DEFAULT_POD_LABELS;
 
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,28 +40,50 @@ import org.jenkinsci.Symbol;
 import org.kohsuke.accmod.Restricted;
 import org.kohsuke.accmod.restrictions.DoNotUse;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.interceptor.RequirePOST;
 
+import com.codahale.metrics.Timer.Context;
+import com.github.nfalco79.jenkins.plugins.k8s.ProvisioningAdmission.Permit;
+
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
+import hudson.Util;
 import hudson.model.Descriptor;
+import hudson.model.Job;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.FormValidation;
 import hudson.util.ListBoxModel;
 import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
 import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.TypedLocalObjectReference;
 import io.fabric8.kubernetes.api.model.Volume;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.KubernetesClientTimeoutException;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import jenkins.model.Jenkins;
 
 @SuppressWarnings("serial")
 public class JobPVCWorkspaceVolume extends WorkspaceVolume implements DynamicPVC {
     private static final Logger LOGGER = Logger.getLogger(JobPVCWorkspaceVolume.class.getName());
+    private static final ConcurrentMap<String, CompletableFuture<PersistentVolumeClaim>> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final long RESIZE_TIMEOUT = Long.getLong(JobPVCWorkspaceVolume.class.getName() + ".resizeTimeout", 120);
+    private static final long BOUND_TIMEOUT = Long.getLong(JobPVCWorkspaceVolume.class.getName() + ".boundTimeout", 300);
 
     private final String claimName;
     private final String storageClassName;
     private final String requestsSize;
     private final String accessModes;
+    private SeedStrategy seedStrategy = SeedStrategy.NONE;
+    private String seedFrom;
+    private int shards;
+    private boolean waitForBound;
 
     @DataBoundConstructor
     public JobPVCWorkspaceVolume(@NonNull String claimName,
@@ -80,12 +112,85 @@ public class JobPVCWorkspaceVolume extends WorkspaceVolume implements DynamicPVC
         return requestsSize;
     }
 
+    @Override
+    public String getAccessModesOrDefault() {
+        return accessModes != null ? accessModes : K8sConstants.DEFAULT_ACCESS_MODES;
+    }
+
+    @Override
+    public String getRequestsSizeOrDefault() {
+        return requestsSize != null ? requestsSize : K8sConstants.DEFAULT_REQUESTS_SIZE;
+    }
+
     @Override
     @CheckForNull
     public String getStorageClassName() {
         return storageClassName;
     }
 
+    @NonNull
+    public SeedStrategy getSeedStrategy() {
+        return seedStrategy == null ? SeedStrategy.NONE : seedStrategy;
+    }
+
+    /**
+     * Sets how a new claim is populated with the data of an existing job
+     * workspace.
+     *
+     * @param seedStrategy the seed strategy
+     */
+    @DataBoundSetter
+    public void setSeedStrategy(SeedStrategy seedStrategy) {
+        this.seedStrategy = seedStrategy;
+    }
+
+    @CheckForNull
+    public String getSeedFrom() {
+        return seedFrom;
+    }
+
+    /**
+     * Sets the full name of the job whose workspace seeds a new claim. When not
+     * set the primary branch of the same multibranch project is used.
+     *
+     * @param seedFrom the source job full name
+     */
+    @DataBoundSetter
+    public void setSeedFrom(String seedFrom) {
+        this.seedFrom = Util.fixEmptyAndTrim(seedFrom);
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    /**
+     * Sets the number of claims owned by the job. Each concurrent build leases
+     * a free claim until its agent pod terminates.
+     *
+     * @param shards the number of claims, a value less than 2 means a single
+     *        claim for the job
+     */
+    @DataBoundSetter
+    public void setShards(int shards) {
+        this.shards = Math.max(shards, 0);
+    }
+
+    public boolean isWaitForBound() {
+        return waitForBound;
+    }
+
+    /**
+     * Sets if the agent pod is launched only when the claim is bound, so that
+     * a provisioning failure fails the launch with the provisioner message.
+     *
+     * @param waitForBound {@code true} to wait the claim is bound
+     */
+    @DataBoundSetter
+    public void setWaitForBound(boolean waitForBound) {
+        this.waitForBound = waitForBound;
+    }
+
     @Override
     public Volume buildVolume(String volumeName, String podName) {
         return buildPVC(volumeName, podName);
@@ -93,7 +198,11 @@ public class JobPVCWorkspaceVolume extends WorkspaceVolume implements DynamicPVC
 
     @Override
     public String getPvcName(String podName) {
-        return PVCUtil.normalize(getClaimName());
+        String pvcName = PVCUtil.normalize(getClaimName());
+        if (shards > 1 && podName != null) {
+            pvcName += "-" + ShardLeases.get().acquire(pvcName, shards, podName);
+        }
+        return pvcName;
     }
 
     @Override
@@ -102,41 +211,277 @@ public class JobPVCWorkspaceVolume extends WorkspaceVolume implements DynamicPVC
         String podId = podMetaData.getName();
         String pvcName = getPvcName(podId);
         LOGGER.log(Level.FINE, "Adding workspace volume {0} from pod: {1}/{2}", new Object[] { pvcName, namespace, podId });
+        return createVolume(client, namespace, pvcName);
+    }
 
-        List<PersistentVolumeClaim> pvcs = client.persistentVolumeClaims().list().getItems();
-        PersistentVolumeClaim pvc = pvcs.stream().filter(p -> Objects.equals(p.getMetadata().getName(), pvcName)).findFirst().orElse(null);
+    /**
+     * Provisions the claims of this volume before any pod uses them, every
+     * shard when the volume is sharded.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param namespace the namespace of the claims
+     * @return the claims
+     */
+    @NonNull
+    public List<PersistentVolumeClaim> prepare(@NonNull KubernetesClient client, @NonNull String namespace) {
+        String pvcName = getPvcName(null);
+        if (shards < 2) {
+            return List.of(createVolume(client, namespace, pvcName));
+        }
+        // shards are leased to pods when they start, prepare them all
+        List<PersistentVolumeClaim> pvcs = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            pvcs.add(createVolume(client, namespace, pvcName + "-" + i));
+        }
+        return pvcs;
+    }
+
+    private PersistentVolumeClaim createVolume(KubernetesClient client, String namespace, String pvcName) {
+        // concurrent builds of the same job share the result of a single provisioning
+        String key = client.getMasterUrl() + "|" + namespace + "|" + pvcName;
+        CompletableFuture<PersistentVolumeClaim> future = new CompletableFuture<>();
+        CompletableFuture<PersistentVolumeClaim> inFlight = IN_FLIGHT.putIfAbsent(key, future);
+        if (inFlight != null) {
+            LOGGER.log(Level.FINE, "Wait provisioning in progress of PVC {0}/{1}", new Object[] { namespace, pvcName });
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new KubernetesClientException("Provisioning of PVC " + namespace + "/" + pvcName + " failed", e.getCause());
+            }
+        }
+
+        try {
+            PersistentVolumeClaim pvc = provision(client, namespace, pvcName);
+            if (waitForBound) {
+                pvc = PVCReadiness.waitForBound(client, pvc, BOUND_TIMEOUT);
+            }
+            future.complete(pvc);
+            return pvc;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            IN_FLIGHT.remove(key, future);
+        }
+    }
+
+    private PersistentVolumeClaim provision(KubernetesClient client, String namespace, String pvcName) {
+        // the claim is deleted and restored while it moves to another storage class
+        StorageTiering.awaitMove(client, namespace, pvcName);
+        PersistentVolumeClaim pvc = PersistentVolumeClaimCache.get(client, namespace, pvcName);
+        Quantity requestStorage = Quantity.parse(getRequestsSizeOrDefault());
+        if (pvc != null && PVCUtil.compare(requestStorage, getConfiguredSize(pvc)) != 0) {
+            // the cache could be behind a change just made, do not take decision on a stale claim
+            pvc = client.persistentVolumeClaims().inNamespace(namespace).withName(pvcName).get();
+        }
 
         if (pvc != null) {
             // check if size has been changed
             Quantity actualStorage = PVCUtil.getRequestSize(pvc);
-            Quantity requestStorage = Quantity.parse(getRequestsSizeOrDefault());
-            if (!actualStorage.equals(requestStorage)) {
-                LOGGER.log(INFO, "PVC request is different than actual storage, from {0} to {1}. Request new one", new Object[] { actualStorage, requestStorage });
+            int compare = PVCUtil.compare(requestStorage, getConfiguredSize(pvc));
+            if (compare > 0 && PVCUtil.compare(requestStorage, actualStorage) <= 0) {
+                // already expanded by usage over the new request
+                pvc = client.persistentVolumeClaims().inNamespace(namespace).withName(pvcName).edit(p -> new PersistentVolumeClaimBuilder(p) //
+                        .editMetadata() //
+                        .addToAnnotations(K8sConstants.ANNOTATION_REQUESTED_SIZE, requestStorage.toString()) //
+                        .endMetadata() //
+                        .build());
+            } else if (compare > 0 && PVCUtil.isBound(pvc) && PVCUtil.isExpansionAllowed(client, pvc)) {
+                // the API server rejects the resize of a claim that is not yet bound
+                LOGGER.log(INFO, "PVC {0}/{1} request is greater than actual storage, expand from {2} to {3}", new Object[] { namespace, pvcName, actualStorage, requestStorage });
+                pvc = expand(client, namespace, pvcName, requestStorage);
+            } else if (compare != 0) {
+                LOGGER.log(INFO, "PVC {0}/{1} request is different than actual storage, from {2} to {3} and volume expansion is not applicable. Request new one", new Object[] { namespace, pvcName, actualStorage, requestStorage });
 
-                client.persistentVolumeClaims().resource(pvc).delete();
-                LOGGER.log(INFO, "Removed PVC: {0}/{1}", new Object[] { pvc.getMetadata().getNamespace(), pvc.getFullResourceName() });
+                ProvisioningMetrics.PVC_RECREATE.inc();
+                Resource<PersistentVolumeClaim> resource = client.persistentVolumeClaims().inNamespace(namespace).withName(pvcName);
+                try (Context ctx = ProvisioningMetrics.PVC_DELETE.time()) {
+                    resource.delete();
+                    resource.waitUntilCondition(Objects::isNull, RESIZE_TIMEOUT, TimeUnit.SECONDS);
+                } catch (KubernetesClientTimeoutException e) {
+                    // a pod of another build still uses the claim
+                    throw new KubernetesClientException(Messages.JobPVCWorkspaceVolume_recreateTimeout(namespace, pvcName, RESIZE_TIMEOUT), e);
+                }
+                LOGGER.log(INFO, "Removed PVC: {0}/{1}", new Object[] { namespace, pvcName });
                 pvc = null;
             }
         }
 
         if (pvc == null) {
-            pvc = new PersistentVolumeClaimBuilder() //
-                    .withNewMetadata() //
-                    .withName(pvcName) //
-                    .withLabels(DEFAULT_POD_LABELS) //
-                    .endMetadata() //
-                    .withNewSpec() //
-                    .withAccessModes(getAccessModesOrDefault()) //
-                    .withNewResources() //
-                    .withRequests(getResourceMap()) //
-                    .endResources() //
-                    .withStorageClassName(getStorageClassNameOrDefault()) //
-                    .endSpec() //
-                    .build();
-            pvc = client.persistentVolumeClaims() //
-                    .inNamespace(podMetaData.getNamespace()) //
-                    .resource(pvc).create();
-            LOGGER.log(INFO, "Created PVC: {0}/{1}", new Object[] { namespace, pvcName });
+            // existing claims change tier in background when no pod uses them
+            String tierStorageClassName = getStorageClassName() == null ? StorageTiering.storageClassOf(getClaimName()) : null;
+            Quantity storage = getRightSize(pvcName, requestStorage);
+            String storageClass = tierStorageClassName != null ? tierStorageClassName : getStorageClassNameOrDefault();
+            try (Permit permit = ProvisioningAdmission.acquire(client, namespace, storageClass, storage)) {
+                PersistentVolumeClaim claim = buildClaim(pvcName);
+                if (tierStorageClassName != null) {
+                    claim = new PersistentVolumeClaimBuilder(claim) //
+                            .editSpec() //
+                            .withStorageClassName(tierStorageClassName) //
+                            .endSpec() //
+                            .build();
+                }
+                if (PVCUtil.compare(storage, requestStorage) != 0) {
+                    LOGGER.log(INFO, "PVC {0}/{1} is created with the recommended size {2} instead of {3}", new Object[] { namespace, pvcName, storage, requestStorage });
+                    claim = new PersistentVolumeClaimBuilder(claim) //
+                            .editSpec() //
+                            .editResources() //
+                            .addToRequests("storage", storage) //
+                            .endResources() //
+                            .endSpec() //
+                            .build();
+                }
+                TypedLocalObjectReference interruptedMove = tierStorageClassName != null ? StorageTiering.getInterruptedMove(client, namespace, pvcName) : null;
+                TypedLocalObjectReference dataSource = interruptedMove != null ? interruptedMove : getDataSource(client, namespace, pvcName, tierStorageClassName);
+                if (dataSource != null) {
+                    LOGGER.log(INFO, "Seed PVC {0}/{1} from {2} {3}", new Object[] { namespace, pvcName, dataSource.getKind(), dataSource.getName() });
+                    claim = new PersistentVolumeClaimBuilder(claim) //
+                            .editSpec() //
+                            .withDataSource(dataSource) //
+                            .endSpec() //
+                            .build();
+                } else if (tierStorageClassName == null) {
+                    // pool claims use the storage class of the volume, not the one of the tier
+                    pvc = WarmPool.adopt(client, namespace, claim, this);
+                }
+                if (pvc == null) {
+                    try (Context ctx = ProvisioningMetrics.PVC_CREATE.time()) {
+                        pvc = client.persistentVolumeClaims() //
+                                .inNamespace(namespace) //
+                                .resource(claim).create();
+                        LOGGER.log(INFO, "Created PVC: {0}/{1}", new Object[] { namespace, pvcName });
+                        // the storage provisioner works until the claim is bound
+                        permit.holdUntilBound(client, pvc);
+                        if (interruptedMove != null) {
+                            StorageTiering.bindSnapshot(client, pvc);
+                        }
+                    } catch (KubernetesClientException e) {
+                        if (e.getCode() != HttpURLConnection.HTTP_CONFLICT) {
+                            throw e;
+                        }
+                        // created in the meanwhile by someone else, for example another controller
+                        pvc = client.persistentVolumeClaims().inNamespace(namespace).withName(pvcName).get();
+                        if (pvc == null) {
+                            throw e;
+                        }
+                    }
+                }
+            }
+        }
+        return pvc;
+    }
+
+    /**
+     * Returns the size requested by the configuration when the claim has been
+     * created, the actual request could be different because of usage.
+     */
+    private Quantity getConfiguredSize(PersistentVolumeClaim pvc) {
+        Map<String, String> annotations = pvc.getMetadata().getAnnotations();
+        String configured = annotations != null ? annotations.get(K8sConstants.ANNOTATION_REQUESTED_SIZE) : null;
+        return configured != null ? Quantity.parse(configured) : PVCUtil.getRequestSize(pvc);
+    }
+
+    private Quantity getRightSize(String pvcName, Quantity requestStorage) {
+        if (!ProvisioningConfiguration.get().isApplyRecommendedSize()) {
+            return requestStorage;
+        }
+        Quantity recommended = PVCUsageHistory.get().getRecommendedSize(pvcName);
+        return recommended != null && PVCUtil.compare(recommended, requestStorage) < 0 ? recommended : requestStorage;
+    }
+
+    @CheckForNull
+    private TypedLocalObjectReference getDataSource(KubernetesClient client, String namespace, String pvcName, @CheckForNull String tierStorageClassName) {
+        SeedStrategy strategy = getSeedStrategy();
+        if (strategy == SeedStrategy.NONE) {
+            return null;
+        }
+        String sourceJob = seedFrom != null ? seedFrom : SeedStrategy.primaryBranchOf(getClaimName());
+        if (sourceJob == null) {
+            LOGGER.log(Level.FINE, "No seed job found for PVC {0}/{1}", new Object[] { namespace, pvcName });
+            return null;
+        }
+        String sourcePVCName = PVCUtil.normalize(sourceJob);
+        if (sourcePVCName.equals(pvcName)) {
+            return null;
+        }
+        TypedLocalObjectReference dataSource = strategy.dataSourceOf(client, namespace, sourcePVCName);
+        if (dataSource == null) {
+            LOGGER.log(INFO, "Seed source {0} of PVC {1}/{2} is not available, create an empty one", new Object[] { sourcePVCName, namespace, pvcName });
+        } else if (strategy == SeedStrategy.PVC_CLONE) {
+            // a clone must be at least as big as its source
+            PersistentVolumeClaim source = PersistentVolumeClaimCache.get(client, namespace, sourcePVCName);
+            if (source != null && PVCUtil.compare(Quantity.parse(getRequestsSizeOrDefault()), PVCUtil.getRequestSize(source)) < 0) {
+                LOGGER.log(INFO, "Seed source {0} is bigger than PVC {1}/{2}, create an empty one", new Object[] { sourcePVCName, namespace, pvcName });
+                return null;
+            }
+            if (source != null && tierStorageClassName != null && !tierStorageClassName.equals(source.getSpec().getStorageClassName())) {
+                // a CSI clone is never provisioned from a source in another storage class
+                LOGGER.log(INFO, "Seed source {0} is in storage class {1} instead of {2}, create an empty PVC {3}/{4}", new Object[] { sourcePVCName, source.getSpec().getStorageClassName(), tierStorageClassName, namespace, pvcName });
+                return null;
+            }
+        }
+        return dataSource;
+    }
+
+    /**
+     * Builds the claim definition requested by this volume.
+     *
+     * @param pvcName the claim name
+     * @return a new claim definition
+     */
+    protected PersistentVolumeClaim buildClaim(String pvcName) {
+        Map<String, String> labels = new HashMap<>(DEFAULT_POD_LABELS);
+        labels.put(K8sConstants.LABEL_MANAGED, "true");
+        Map<String, String> annotations = new HashMap<>();
+        annotations.put(K8sConstants.ANNOTATION_REQUESTED_SIZE, getRequestsSizeOrDefault());
+        // the build could not be allowed to see its own job, for example when prepared by a step
+        try (ACLContext ctx = ACL.as2(ACL.SYSTEM2)) {
+            if (Jenkins.get().getItemByFullName(getClaimName(), Job.class) != null) {
+                // only claims that belong to a job are subject to idle collection
+                annotations.put(K8sConstants.ANNOTATION_JOB, getClaimName());
+            }
+        }
+        if (shards > 1) {
+            annotations.put(K8sConstants.ANNOTATION_SHARD_OF, PVCUtil.normalize(getClaimName()));
+        }
+        return new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(pvcName) //
+                .withLabels(labels) //
+                .withAnnotations(annotations) //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes(getAccessModesOrDefault()) //
+                .withNewResources() //
+                .withRequests(getResourceMap()) //
+                .endResources() //
+                .withStorageClassName(getStorageClassNameOrDefault()) //
+                .endSpec() //
+                .build();
+    }
+
+    private PersistentVolumeClaim expand(KubernetesClient client, String namespace, String pvcName, Quantity requestStorage) {
+        ProvisioningMetrics.PVC_EXPAND.inc();
+        Resource<PersistentVolumeClaim> resource = client.persistentVolumeClaims().inNamespace(namespace).withName(pvcName);
+        PersistentVolumeClaim pvc = resource.edit(p -> new PersistentVolumeClaimBuilder(p) //
+                .editMetadata() //
+                .addToAnnotations(K8sConstants.ANNOTATION_REQUESTED_SIZE, requestStorage.toString()) //
+                .endMetadata() //
+                .editSpec() //
+                .editResources() //
+                .addToRequests("storage", requestStorage) //
+                .endResources() //
+                .endSpec() //
+                .build());
+        try {
+            pvc = resource.waitUntilCondition(p -> PVCUtil.isResized(p, requestStorage), RESIZE_TIMEOUT, TimeUnit.SECONDS);
+            LOGGER.log(INFO, "Expanded PVC: {0}/{1}", new Object[] { namespace, pvcName });
+        } catch (KubernetesClientTimeoutException e) {
+            // the resize continue in background and the kubelet completes it when the volume is mounted
+            LOGGER.log(WARNING, "PVC {0}/{1} resize is not yet completed after {2} seconds", new Object[] { namespace, pvcName, RESIZE_TIMEOUT });
         }
         return pvc;
     }
@@ -152,23 +497,22 @@ public class JobPVCWorkspaceVolume extends WorkspaceVolume implements DynamicPVC
         JobPVCWorkspaceVolume that = (JobPVCWorkspaceVolume) o;
         return Objects.equals(storageClassName, that.storageClassName) &&
                 Objects.equals(requestsSize, that.requestsSize) &&
-                Objects.equals(accessModes, that.accessModes);
+                Objects.equals(accessModes, that.accessModes) &&
+                getSeedStrategy() == that.getSeedStrategy() &&
+                Objects.equals(seedFrom, that.seedFrom) &&
+                shards == that.shards &&
+                waitForBound == that.waitForBound;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(storageClassName, requestsSize, accessModes);
+        return Objects.hash(storageClassName, requestsSize, accessModes, getSeedStrategy(), seedFrom, shards, waitForBound);
     }
 
     @Extension
     @Symbol("jobPVC")
     public static class DescriptorImpl extends Descriptor<WorkspaceVolume> {
 
-        private static final ListBoxModel ACCESS_MODES_BOX = new ListBoxModel() //
-                .add("ReadWriteOnce") //
-                .add("ReadOnlyMany") //
-                .add("ReadWriteMany");
-
         @Override
         public String getDisplayName() {
             return "Per Job Persistent Volume Claim Workspace Volume";
@@ -177,7 +521,17 @@ public class JobPVCWorkspaceVolume extends WorkspaceVolume implements DynamicPVC
         @RequirePOST
         @Restricted(DoNotUse.class) // stapler only
         public ListBoxModel doFillAccessModesItems() {
-            return ACCESS_MODES_BOX;
+            return PVCFormValidation.getAccessModes();
+        }
+
+        @Restricted(DoNotUse.class) // stapler only
+        public FormValidation doCheckRequestsSize(@QueryParameter String value) {
+            return PVCFormValidation.checkRequestsSize(value);
+        }
+
+        @Restricted(DoNotUse.class) // stapler only
+        public FormValidation doCheckStorageClassName(@QueryParameter String value) {
+            return PVCFormValidation.checkStorageClassName(value);
         }
     }
 
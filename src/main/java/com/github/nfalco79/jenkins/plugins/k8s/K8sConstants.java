@@ -27,4 +27,68 @@ public final class K8sConstants {
     public static final String ENVVAR_KUBECTL_PATH = "PATH+KUBECTL";
 
     public static final String KUBECTL_CMD = "kubectl";
+
+    /**
+     * The label that marks a claim as created by this plugin for a job.
+     */
+    public static final String LABEL_MANAGED = "k8s-provisioning/managed";
+
+    /**
+     * The annotation on a job claim that contains the full name of the job.
+     */
+    public static final String ANNOTATION_JOB = "k8s-provisioning/job";
+
+    /**
+     * The annotation on the claim of a renamed or moved job that contains the
+     * name of the claim where it has been cloned to.
+     */
+    public static final String ANNOTATION_MOVED_TO = "k8s-provisioning/moved-to";
+
+    /**
+     * The annotation on a claim that the storage tiering is moving to another
+     * storage class, it contains the time the move started.
+     */
+    public static final String ANNOTATION_MOVING = "k8s-provisioning/moving";
+
+    /**
+     * The label that marks a claim as member of a warm pool.
+     */
+    public static final String LABEL_POOL = "k8s-provisioning/pool";
+
+    /**
+     * The label that describes if a warm pool claim is available or already
+     * claimed by a job.
+     */
+    public static final String LABEL_POOL_STATE = "k8s-provisioning/pool-state";
+
+    public static final String POOL_STATE_AVAILABLE = "available";
+    public static final String POOL_STATE_CLAIMED = "claimed";
+
+    /**
+     * The annotation on a sharded claim that contains the claim name of the
+     * job it belongs to.
+     */
+    public static final String ANNOTATION_SHARD_OF = "k8s-provisioning/shard-of";
+
+    /**
+     * The annotation on a job claim that contains the size requested by the
+     * job configuration, the claim could be resized because of its usage.
+     */
+    public static final String ANNOTATION_REQUESTED_SIZE = "k8s-provisioning/requested-size";
+
+    /**
+     * The annotation on a job claim that contains when the claim has been
+     * found without its job for the first time.
+     */
+    public static final String ANNOTATION_ORPHAN_SINCE = "k8s-provisioning/orphan-since";
+
+    /**
+     * The size requested by workspace volumes that do not configure it.
+     */
+    public static final String DEFAULT_REQUESTS_SIZE = "10Gi";
+
+    /**
+     * The access modes of workspace volumes that do not configure them.
+     */
+    public static final String DEFAULT_ACCESS_MODES = "ReadWriteOnce";
 }
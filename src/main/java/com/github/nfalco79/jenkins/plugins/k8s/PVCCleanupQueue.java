@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+import static java.util.logging.Level.SEVERE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud;
+import org.jenkinsci.plugins.kubernetes.auth.KubernetesAuthException;
+
+import com.codahale.metrics.Timer.Context;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.security.ACL;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import jenkins.model.Jenkins;
+import jenkins.security.ImpersonatingExecutorService;
+import jenkins.security.ImpersonatingScheduledExecutorService;
+
+/**
+ * Removes the job claims in background.
+ * <p>
+ * Requests are coalesced for a short time so that the removal of a folder
+ * connects once to each cloud and looks up all claims in the shared cache,
+ * claims are then deleted in parallel with a bounded concurrency and failures
+ * are retried with an exponential backoff.
+ *
+ * @author Nikolas Falco
+ */
+public final class PVCCleanupQueue {
+    private static final Logger LOGGER = Logger.getLogger(PVCCleanupQueue.class.getName());
+
+    private static final long COALESCE_DELAY = Long.getLong(PVCCleanupQueue.class.getName() + ".coalesceDelay", 2000);
+    private static final int CONCURRENCY = Integer.getInteger(PVCCleanupQueue.class.getName() + ".concurrency", 4);
+    private static final int MAX_ATTEMPTS = Integer.getInteger(PVCCleanupQueue.class.getName() + ".maxAttempts", 6);
+    private static final long BACKOFF = Long.getLong(PVCCleanupQueue.class.getName() + ".backoff", 5000);
+
+    private static final PVCCleanupQueue INSTANCE = new PVCCleanupQueue();
+
+    private final ScheduledExecutorService scheduler = new ImpersonatingScheduledExecutorService( //
+            Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(new DaemonThreadFactory(), "PVCCleanupQueue")), //
+            ACL.SYSTEM2);
+    private final ExecutorService workers = new ImpersonatingExecutorService( //
+            Executors.newFixedThreadPool(CONCURRENCY, new NamingThreadFactory(new DaemonThreadFactory(), "PVCCleanupQueue.worker")), //
+            ACL.SYSTEM2);
+
+    /**
+     * cloud name -&gt; claim name -&gt; attempt.
+     */
+    private final Map<String, Map<String, Integer>> pending = new HashMap<>();
+    private final AtomicInteger inProgress = new AtomicInteger();
+    private boolean scheduled;
+
+    private PVCCleanupQueue() {
+    }
+
+    @NonNull
+    public static PVCCleanupQueue get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Requests the removal of the given job claim, and its shards, from all
+     * Kubernetes clouds.
+     *
+     * @param pvcName the job claim name
+     */
+    public void enqueue(@NonNull String pvcName) {
+        for (KubernetesCloud cloud : Jenkins.get().clouds.getAll(KubernetesCloud.class)) {
+            enqueue(cloud.name, pvcName, 0, COALESCE_DELAY);
+        }
+    }
+
+    private synchronized void enqueue(String cloudName, String pvcName, int attempt, long delay) {
+        if (delay > COALESCE_DELAY) {
+            // retry, wait for the backoff and then join the next batch
+            inProgress.incrementAndGet();
+            scheduler.schedule(() -> {
+                try {
+                    enqueue(cloudName, pvcName, attempt, COALESCE_DELAY);
+                } finally {
+                    inProgress.decrementAndGet();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+        pending.computeIfAbsent(cloudName, k -> new HashMap<>()).merge(pvcName, attempt, Math::max);
+        if (!scheduled) {
+            scheduled = true;
+            scheduler.schedule(this::drain, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void drain() {
+        Map<String, Map<String, Integer>> batch;
+        synchronized (this) {
+            batch = new HashMap<>(pending);
+            pending.clear();
+            scheduled = false;
+            // the batch is not yet submitted to the workers
+            inProgress.incrementAndGet();
+        }
+        try {
+            drain(batch);
+        } finally {
+            inProgress.decrementAndGet();
+        }
+    }
+
+    private void drain(Map<String, Map<String, Integer>> batch) {
+        for (Entry<String, Map<String, Integer>> entry : batch.entrySet()) {
+            String cloudName = entry.getKey();
+            Map<String, Integer> pvcNames = entry.getValue();
+            KubernetesCloud cloud = getCloud(cloudName);
+            if (cloud == null) {
+                LOGGER.log(FINE, "Cloud {0} has been removed, skip PVC removal", cloudName);
+                continue;
+            }
+            try {
+                KubernetesClient client = cloud.connect();
+                String namespace = client.getNamespace();
+                for (Entry<String, Integer> pvcName : pvcNames.entrySet()) {
+                    for (PersistentVolumeClaim pvc : PersistentVolumeClaimCache.getJobClaims(client, namespace, pvcName.getKey())) {
+                        delete(client, cloudName, pvcName.getKey(), pvc, pvcName.getValue());
+                    }
+                }
+            } catch (KubernetesAuthException | IOException | KubernetesClientException e) {
+                LOGGER.log(WARNING, "Can not connect to cloud " + cloudName + " to remove PVC", e);
+                pvcNames.forEach((pvcName, attempt) -> retry(cloudName, pvcName, attempt, e));
+            }
+        }
+    }
+
+    private void delete(KubernetesClient client, String cloudName, String jobPVCName, PersistentVolumeClaim pvc, int attempt) {
+        inProgress.incrementAndGet();
+        workers.submit(() -> {
+            String namespace = pvc.getMetadata().getNamespace();
+            String name = pvc.getMetadata().getName();
+            try (Context ctx = ProvisioningMetrics.PVC_DELETE.time()) {
+                client.persistentVolumeClaims().inNamespace(namespace).withName(name).delete();
+                LOGGER.log(INFO, "Removed PVC: {0}/{1}", new Object[] { namespace, name });
+            } catch (KubernetesClientException e) {
+                retry(cloudName, jobPVCName, attempt, e);
+            } finally {
+                inProgress.decrementAndGet();
+            }
+        });
+    }
+
+    private void retry(String cloudName, String pvcName, int attempt, Exception cause) {
+        if (attempt + 1 >= MAX_ATTEMPTS) {
+            LOGGER.log(SEVERE, "Can not remove PVC: " + pvcName, cause);
+            return;
+        }
+        long delay = BACKOFF << attempt;
+        LOGGER.log(WARNING, "Can not remove PVC {0} of cloud {1}, retry in {2} ms", new Object[] { pvcName, cloudName, delay });
+        enqueue(cloudName, pvcName, attempt + 1, delay);
+    }
+
+    private KubernetesCloud getCloud(String cloudName) {
+        List<KubernetesCloud> clouds = Jenkins.get().clouds.getAll(KubernetesCloud.class);
+        return clouds.stream().filter(c -> c.name.equals(cloudName)).findFirst().orElse(null);
+    }
+
+    /**
+     * Returns if there are no removals pending or in progress.
+     *
+     * @return {@code true} if the queue is empty
+     */
+    public synchronized boolean isIdle() {
+        return pending.isEmpty() && !scheduled && inProgress.get() == 0;
+    }
+}
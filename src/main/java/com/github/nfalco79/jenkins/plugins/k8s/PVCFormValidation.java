@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import java.util.regex.Pattern;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Util;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import io.fabric8.kubernetes.api.model.Quantity;
+
+/**
+ * Form helpers shared by the descriptors that define a claim.
+ *
+ * @author Nikolas Falco
+ */
+public final class PVCFormValidation {
+    private static final Pattern STORAGE_CLASS_NAME = Pattern.compile("[a-z0-9]([-a-z0-9]*[a-z0-9])?(\\.[a-z0-9]([-a-z0-9]*[a-z0-9])?)*");
+
+    private PVCFormValidation() {
+    }
+
+    @NonNull
+    public static ListBoxModel getAccessModes() {
+        return new ListBoxModel() //
+                .add("ReadWriteOnce") //
+                .add("ReadOnlyMany") //
+                .add("ReadWriteMany") //
+                .add("ReadWriteOncePod");
+    }
+
+    @NonNull
+    public static FormValidation checkRequestsSize(String requestsSize) {
+        String value = Util.fixEmptyAndTrim(requestsSize);
+        if (value == null) {
+            return FormValidation.ok();
+        }
+        try {
+            if (Quantity.getAmountInBytes(Quantity.parse(value)).signum() <= 0) {
+                return FormValidation.error(Messages.PVCFormValidation_invalidSize(value));
+            }
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return FormValidation.error(Messages.PVCFormValidation_invalidSize(value));
+        }
+        return FormValidation.ok();
+    }
+
+    @NonNull
+    public static FormValidation checkStorageClassName(String storageClassName) {
+        String value = Util.fixEmptyAndTrim(storageClassName);
+        if (value == null || STORAGE_CLASS_NAME.matcher(value).matches() && value.length() <= 253) {
+            return FormValidation.ok();
+        }
+        return FormValidation.error(Messages.PVCFormValidation_invalidStorageClassName(value));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+import com.codahale.metrics.Timer.Context;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+
+/**
+ * Waits until a claim is ready to be used by a pod.
+ * <p>
+ * Claim changes and provisioner events are watched, so a provisioning failure
+ * is reported as soon as the provisioner gives up instead of when the agent
+ * pod times out.
+ *
+ * @author Nikolas Falco
+ */
+public final class PVCReadiness {
+    private static final Logger LOGGER = Logger.getLogger(PVCReadiness.class.getName());
+
+    private static final String PHASE_BOUND = "Bound";
+    private static final String PHASE_LOST = "Lost";
+    private static final String ANNOTATION_SELECTED_NODE = "volume.kubernetes.io/selected-node";
+    private static final String REASON_PROVISIONING_FAILED = "ProvisioningFailed";
+
+    private PVCReadiness() {
+    }
+
+    /**
+     * Waits until the given claim is bound or, for storage classes that delay
+     * the binding, until the scheduler selects the node of the consumer pod.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param pvc the claim to wait for
+     * @param timeout the maximum time to wait in seconds
+     * @return the ready claim
+     * @throws KubernetesClientException if the provisioning fails, the claim
+     *         is lost or it is not ready in time
+     */
+    @NonNull
+    public static PersistentVolumeClaim waitForBound(@NonNull KubernetesClient client, @NonNull PersistentVolumeClaim pvc, long timeout) {
+        String namespace = pvc.getMetadata().getNamespace();
+        String name = pvc.getMetadata().getName();
+        boolean delayedBinding = isDelayedBinding(client, pvc);
+        if (isReady(pvc, delayedBinding)) {
+            return pvc;
+        }
+
+        LOGGER.log(FINE, "Wait PVC {0}/{1} to be bound", new Object[] { namespace, name });
+        CompletableFuture<PersistentVolumeClaim> failure = new CompletableFuture<>();
+        CompletableFuture<List<PersistentVolumeClaim>> ready = client.persistentVolumeClaims() //
+                .inNamespace(namespace) //
+                .withName(name) //
+                .informOnCondition(pvcs -> !pvcs.isEmpty() && isReady(pvcs.get(0), delayedBinding));
+        try (Context ctx = ProvisioningMetrics.PVC_BOUND.time(); //
+                Watch watch = watchFailures(client, pvc, failure)) {
+            Object result = CompletableFuture.anyOf(ready, failure).get(timeout, TimeUnit.SECONDS);
+            @SuppressWarnings("unchecked")
+            List<PersistentVolumeClaim> pvcs = (List<PersistentVolumeClaim>) result;
+            LOGGER.log(INFO, "PVC {0}/{1} is ready", new Object[] { namespace, name });
+            return pvcs.get(0);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof KubernetesClientException cause) {
+                throw cause;
+            }
+            throw new KubernetesClientException(Messages.PVCReadiness_failed(namespace, name, e.getCause().getMessage()), e.getCause());
+        } catch (TimeoutException e) {
+            throw new KubernetesClientException(Messages.PVCReadiness_timeout(namespace, name, timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KubernetesClientException(Messages.PVCReadiness_timeout(namespace, name, timeout), e);
+        } finally {
+            ready.cancel(true);
+        }
+    }
+
+    private static Watch watchFailures(KubernetesClient client, PersistentVolumeClaim pvc, CompletableFuture<PersistentVolumeClaim> failure) {
+        String namespace = pvc.getMetadata().getNamespace();
+        String name = pvc.getMetadata().getName();
+        String uid = pvc.getMetadata().getUid();
+        return client.v1().events() //
+                .inNamespace(namespace) //
+                .withField("involvedObject.kind", "PersistentVolumeClaim") //
+                .withField("involvedObject.name", name) //
+                .watch(new Watcher<Event>() {
+                    @Override
+                    public void eventReceived(Action action, Event event) {
+                        // events of a previous claim with the same name are ignored
+                        boolean sameClaim = uid == null || uid.equals(event.getInvolvedObject().getUid());
+                        if (action != Action.DELETED && sameClaim && REASON_PROVISIONING_FAILED.equals(event.getReason())) {
+                            failure.completeExceptionally(new KubernetesClientException(Messages.PVCReadiness_failed(namespace, name, event.getMessage())));
+                        }
+                    }
+
+                    @Override
+                    public void onClose(WatcherException cause) {
+                        // the claim watch still detects the readiness
+                        LOGGER.log(FINE, "Events watch of PVC " + namespace + "/" + name + " closed", cause);
+                    }
+                });
+    }
+
+    private static boolean isDelayedBinding(KubernetesClient client, PersistentVolumeClaim pvc) {
+        return PVCUtil.isDelayedBinding(PVCUtil.getStorageClass(client, pvc.getSpec().getStorageClassName()));
+    }
+
+    private static boolean isReady(@CheckForNull PersistentVolumeClaim pvc, boolean delayedBinding) {
+        if (pvc == null || pvc.getStatus() == null) {
+            return false;
+        }
+        String phase = pvc.getStatus().getPhase();
+        if (PHASE_LOST.equals(phase)) {
+            throw new KubernetesClientException(Messages.PVCReadiness_lost(pvc.getMetadata().getNamespace(), pvc.getMetadata().getName()));
+        }
+        if (PHASE_BOUND.equals(phase)) {
+            return true;
+        }
+        Map<String, String> annotations = pvc.getMetadata().getAnnotations();
+        return delayedBinding && annotations != null && annotations.containsKey(ANNOTATION_SELECTED_NODE);
+    }
+}
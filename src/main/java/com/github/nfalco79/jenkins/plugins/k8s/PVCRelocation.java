@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+import static java.util.logging.Level.WARNING;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud;
+import org.jenkinsci.plugins.kubernetes.auth.KubernetesAuthException;
+
+import com.codahale.metrics.Timer.Context;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.storage.StorageClass;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import jenkins.model.Jenkins;
+
+/**
+ * Moves the claims of a renamed or relocated job to the new claim name.
+ * <p>
+ * Claims can not be renamed, so each claim is cloned through a CSI
+ * {@code dataSource} to the new name and the old claim is marked as moved.
+ * The {@link IdlePVCCollector} removes it as soon as the clone is bound, a
+ * clone is provisioned only when the first pod of the job uses it with
+ * WaitForFirstConsumer storage classes and the source must exist until then.
+ * A claim is assigned to the new job before it is cloned, so that the
+ * collector completes the move when the clone fails.
+ *
+ * @author Nikolas Falco
+ */
+public final class PVCRelocation {
+    private static final Logger LOGGER = Logger.getLogger(PVCRelocation.class.getName());
+
+    private static final String IN_TREE_PROVISIONER_PREFIX = "kubernetes.io/";
+
+    private PVCRelocation() {
+    }
+
+    /**
+     * Moves the claims of a job to the new job name in all clouds.
+     *
+     * @param oldFullName the old job full name
+     * @param newFullName the new job full name
+     */
+    public static void relocate(@NonNull String oldFullName, @NonNull String newFullName) {
+        String oldPVCName = PVCUtil.normalize(oldFullName);
+        String newPVCName = PVCUtil.normalize(newFullName);
+        if (oldPVCName.equals(newPVCName)) {
+            return;
+        }
+        ShardLeases.get().remove(oldPVCName);
+
+        for (KubernetesCloud cloud : Jenkins.get().clouds.getAll(KubernetesCloud.class)) {
+            try {
+                KubernetesClient client = cloud.connect();
+                String namespace = client.getNamespace();
+                for (PersistentVolumeClaim pvc : PersistentVolumeClaimCache.getJobClaims(client, namespace, oldPVCName)) {
+                    try {
+                        relocate(client, pvc, oldPVCName, newPVCName, newFullName);
+                    } catch (KubernetesClientException e) {
+                        // the claim is kept, the collector completes the move of a claim already assigned to the new job
+                        LOGGER.log(WARNING, "Can not move PVC " + namespace + "/" + pvc.getMetadata().getName() + " to " + newPVCName, e);
+                    }
+                }
+            } catch (KubernetesAuthException | IOException | KubernetesClientException e) {
+                LOGGER.log(WARNING, "Can not move PVC " + oldPVCName + " of cloud " + cloud.name + " to " + newPVCName, e);
+            }
+        }
+    }
+
+    private static void relocate(KubernetesClient client, PersistentVolumeClaim pvc, String oldPVCName, String newPVCName, String newFullName) {
+        String namespace = pvc.getMetadata().getNamespace();
+        String oldName = pvc.getMetadata().getName();
+        // keep the shard suffix
+        String newName = newPVCName + oldName.substring(oldPVCName.length());
+
+        if (PersistentVolumeClaimCache.get(client, namespace, newName) != null || !isCloneSupported(client, pvc)) {
+            LOGGER.log(INFO, "PVC {0}/{1} can not be cloned to {2}, remove it", new Object[] { namespace, oldName, newName });
+            client.persistentVolumeClaims().inNamespace(namespace).withName(oldName).delete();
+            return;
+        }
+
+        // assign the claim to the new job first, if the clone fails the collector migrates it later
+        PersistentVolumeClaim assigned = client.persistentVolumeClaims().inNamespace(namespace).withName(oldName).edit(p -> new PersistentVolumeClaimBuilder(p) //
+                .editMetadata() //
+                .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                .addToAnnotations(K8sConstants.ANNOTATION_JOB, newFullName) //
+                .endMetadata() //
+                .build());
+        clone(client, assigned, newName, newPVCName, newFullName);
+    }
+
+    /**
+     * Moves a claim named by a previous version of the plugin to the claim
+     * name the job uses now. Unlike a rename the claim is kept when it can
+     * not be cloned, the job could still need its data.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param pvc the claim or shard to move
+     * @param jobFullName the full name of the job the claim belongs to
+     * @return {@code true} if the claim has been cloned
+     */
+    public static boolean migrate(@NonNull KubernetesClient client, @NonNull PersistentVolumeClaim pvc, @NonNull String jobFullName) {
+        String namespace = pvc.getMetadata().getNamespace();
+        String oldName = pvc.getMetadata().getName();
+        Map<String, String> annotations = pvc.getMetadata().getAnnotations();
+        String oldPVCName = annotations != null ? annotations.getOrDefault(K8sConstants.ANNOTATION_SHARD_OF, oldName) : oldName;
+        String newPVCName = PVCUtil.normalize(jobFullName);
+        // keep the shard suffix
+        String newName = newPVCName + oldName.substring(oldPVCName.length());
+
+        if (PersistentVolumeClaimCache.get(client, namespace, newName) != null || !isCloneSupported(client, pvc)) {
+            LOGGER.log(FINE, "PVC {0}/{1} can not be cloned to {2}, keep it", new Object[] { namespace, oldName, newName });
+            return false;
+        }
+        clone(client, pvc, newName, newPVCName, jobFullName);
+        return true;
+    }
+
+    private static void clone(KubernetesClient client, PersistentVolumeClaim pvc, String newName, String newPVCName, String newFullName) {
+        String namespace = pvc.getMetadata().getNamespace();
+        String oldName = pvc.getMetadata().getName();
+        Map<String, String> annotations = new HashMap<>();
+        // also claims created before the job annotation was introduced
+        annotations.put(K8sConstants.ANNOTATION_JOB, newFullName);
+        Map<String, String> oldAnnotations = pvc.getMetadata().getAnnotations();
+        if (oldAnnotations != null) {
+            if (oldAnnotations.containsKey(K8sConstants.ANNOTATION_SHARD_OF)) {
+                annotations.put(K8sConstants.ANNOTATION_SHARD_OF, newPVCName);
+            }
+            if (oldAnnotations.containsKey(K8sConstants.ANNOTATION_REQUESTED_SIZE)) {
+                annotations.put(K8sConstants.ANNOTATION_REQUESTED_SIZE, oldAnnotations.get(K8sConstants.ANNOTATION_REQUESTED_SIZE));
+            }
+        }
+        PersistentVolumeClaim clone = new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(newName) //
+                .withLabels(pvc.getMetadata().getLabels()) //
+                .withAnnotations(annotations) //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes(pvc.getSpec().getAccessModes()) //
+                .withNewResources() //
+                .withRequests(pvc.getSpec().getResources().getRequests()) //
+                .endResources() //
+                .withStorageClassName(pvc.getSpec().getStorageClassName()) //
+                .withVolumeMode(pvc.getSpec().getVolumeMode()) //
+                .withNewDataSource() //
+                .withKind("PersistentVolumeClaim") //
+                .withName(oldName) //
+                .endDataSource() //
+                .endSpec() //
+                .build();
+        try (Context ctx = ProvisioningMetrics.PVC_CREATE.time()) {
+            client.persistentVolumeClaims().inNamespace(namespace).resource(clone).create();
+        }
+
+        // the source is removed by the collector when the clone is bound
+        client.persistentVolumeClaims().inNamespace(namespace).withName(oldName).edit(p -> new PersistentVolumeClaimBuilder(p) //
+                .editMetadata() //
+                .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                .addToAnnotations(K8sConstants.ANNOTATION_MOVED_TO, newName) //
+                .endMetadata() //
+                .build());
+        LOGGER.log(INFO, "Cloned PVC {0}/{1} to {2}", new Object[] { namespace, oldName, newName });
+    }
+
+    private static boolean isCloneSupported(KubernetesClient client, PersistentVolumeClaim pvc) {
+        StorageClass storageClass = PVCUtil.getStorageClass(client, pvc.getSpec().getStorageClassName());
+        if (storageClass == null || storageClass.getProvisioner() == null || storageClass.getProvisioner().startsWith(IN_TREE_PROVISIONER_PREFIX)) {
+            // only CSI drivers support volume cloning
+            LOGGER.log(FINE, "Storage class of PVC {0} is not provisioned by a CSI driver", pvc.getMetadata().getName());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns if the given moved claim can be removed because its clone is
+     * bound.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param pvc the moved claim
+     * @return {@code true} if the claim is no longer needed
+     */
+    public static boolean isMoveCompleted(@NonNull KubernetesClient client, @NonNull PersistentVolumeClaim pvc) {
+        Map<String, String> annotations = pvc.getMetadata().getAnnotations();
+        String newName = annotations != null ? annotations.get(K8sConstants.ANNOTATION_MOVED_TO) : null;
+        if (newName == null) {
+            return false;
+        }
+        // the cache could be stale or not yet synchronised, the source is deleted only for a clone surely bound
+        PersistentVolumeClaim clone = client.persistentVolumeClaims().inNamespace(pvc.getMetadata().getNamespace()).withName(newName).get();
+        return PVCUtil.isBound(clone);
+    }
+}
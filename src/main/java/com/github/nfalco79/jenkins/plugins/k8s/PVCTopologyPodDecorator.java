@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud;
+import org.csanchez.jenkins.plugins.kubernetes.pod.decorator.PodDecorator;
+import org.jenkinsci.plugins.kubernetes.auth.KubernetesAuthException;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import io.fabric8.kubernetes.api.model.NodeSelector;
+import io.fabric8.kubernetes.api.model.NodeSelectorRequirement;
+import io.fabric8.kubernetes.api.model.NodeSelectorTerm;
+import io.fabric8.kubernetes.api.model.NodeSelectorTermBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolume;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+
+/**
+ * Schedules the agent pod in the topology domain of the volume bound to its
+ * job claim.
+ * <p>
+ * The node affinity of the bound persistent volume and its zone and region
+ * labels are added as required node affinity of the pod. A claim not yet
+ * bound does not constrain the pod, the volume will be provisioned where the
+ * pod is scheduled.
+ *
+ * @author Nikolas Falco
+ */
+@Extension
+public class PVCTopologyPodDecorator implements PodDecorator {
+    private static final Logger LOGGER = Logger.getLogger(PVCTopologyPodDecorator.class.getName());
+
+    private static final boolean DISABLED = Boolean.getBoolean(PVCTopologyPodDecorator.class.getName() + ".disable");
+    private static final List<String> TOPOLOGY_LABELS = List.of("topology.kubernetes.io/zone", //
+            "topology.kubernetes.io/region", //
+            "failure-domain.beta.kubernetes.io/zone", //
+            "failure-domain.beta.kubernetes.io/region");
+    // regional volumes list all their zones
+    private static final String ZONE_SEPARATOR = "__";
+
+    @NonNull
+    @Override
+    public Pod decorate(@NonNull KubernetesCloud kubernetesCloud, @NonNull Pod pod) {
+        if (DISABLED || pod.getSpec() == null || pod.getSpec().getVolumes() == null) {
+            return pod;
+        }
+
+        List<NodeSelectorTerm> terms = null;
+        try {
+            KubernetesClient client = kubernetesCloud.connect();
+            String namespace = pod.getMetadata().getNamespace() != null ? pod.getMetadata().getNamespace() : client.getNamespace();
+            for (Volume volume : pod.getSpec().getVolumes()) {
+                if (volume.getPersistentVolumeClaim() == null) {
+                    continue;
+                }
+                List<NodeSelectorTerm> volumeTerms = getNodeSelectorTerms(client, namespace, volume.getPersistentVolumeClaim().getClaimName());
+                if (volumeTerms != null) {
+                    terms = terms == null ? volumeTerms : merge(terms, volumeTerms);
+                }
+            }
+        } catch (KubernetesAuthException | IOException | KubernetesClientException e) {
+            // the pod is scheduled anyway, at worst in another topology domain
+            LOGGER.log(WARNING, "Can not read the topology of the workspace volume of pod " + pod.getMetadata().getName(), e);
+            return pod;
+        }
+        if (terms == null || terms.isEmpty()) {
+            return pod;
+        }
+
+        NodeSelector actual = getRequiredNodeSelector(pod);
+        if (actual != null && actual.getNodeSelectorTerms() != null && !actual.getNodeSelectorTerms().isEmpty()) {
+            terms = merge(actual.getNodeSelectorTerms(), terms);
+        }
+        LOGGER.log(FINE, "Add node affinity {0} to pod {1}", new Object[] { terms, pod.getMetadata().getName() });
+        return new PodBuilder(pod) //
+                .editSpec() //
+                .editOrNewAffinity() //
+                .editOrNewNodeAffinity() //
+                .withNewRequiredDuringSchedulingIgnoredDuringExecution() //
+                .withNodeSelectorTerms(terms) //
+                .endRequiredDuringSchedulingIgnoredDuringExecution() //
+                .endNodeAffinity() //
+                .endAffinity() //
+                .endSpec() //
+                .build();
+    }
+
+    @CheckForNull
+    private NodeSelector getRequiredNodeSelector(Pod pod) {
+        if (pod.getSpec().getAffinity() == null || pod.getSpec().getAffinity().getNodeAffinity() == null) {
+            return null;
+        }
+        return pod.getSpec().getAffinity().getNodeAffinity().getRequiredDuringSchedulingIgnoredDuringExecution();
+    }
+
+    /**
+     * Returns the node selector terms of the volume bound to the given claim.
+     *
+     * @return the terms that a node must satisfy or {@code null} if the claim
+     *         is not managed or not yet bound
+     */
+    @CheckForNull
+    private List<NodeSelectorTerm> getNodeSelectorTerms(KubernetesClient client, String namespace, String claimName) {
+        PersistentVolumeClaim pvc = PersistentVolumeClaimCache.get(client, namespace, claimName);
+        if (pvc == null || pvc.getSpec().getVolumeName() == null) {
+            return null;
+        }
+        Map<String, String> labels = pvc.getMetadata().getLabels();
+        if (labels == null || !"true".equals(labels.get(K8sConstants.LABEL_MANAGED))) {
+            return null;
+        }
+        PersistentVolume pv;
+        try {
+            pv = client.persistentVolumes().withName(pvc.getSpec().getVolumeName()).get();
+        } catch (KubernetesClientException e) {
+            if (e.getCode() != HttpURLConnection.HTTP_FORBIDDEN) {
+                throw e;
+            }
+            // persistent volumes are cluster scoped and the cloud service account could not read them
+            LOGGER.log(FINE, "Not allowed to read persistent volume {0}", pvc.getSpec().getVolumeName());
+            return null;
+        }
+        if (pv == null) {
+            return null;
+        }
+
+        List<NodeSelectorTerm> terms = new ArrayList<>();
+        if (pv.getSpec().getNodeAffinity() != null && pv.getSpec().getNodeAffinity().getRequired() != null) {
+            terms.addAll(pv.getSpec().getNodeAffinity().getRequired().getNodeSelectorTerms());
+        }
+
+        List<NodeSelectorRequirement> topology = new ArrayList<>();
+        Map<String, String> pvLabels = pv.getMetadata().getLabels();
+        if (pvLabels != null) {
+            for (String label : TOPOLOGY_LABELS) {
+                String value = pvLabels.get(label);
+                if (value != null) {
+                    topology.add(new NodeSelectorRequirement(label, "In", Arrays.asList(value.split(ZONE_SEPARATOR))));
+                }
+            }
+        }
+        if (!topology.isEmpty()) {
+            NodeSelectorTerm topologyTerm = new NodeSelectorTermBuilder().withMatchExpressions(topology).build();
+            terms = terms.isEmpty() ? List.of(topologyTerm) : merge(terms, List.of(topologyTerm));
+        }
+        return terms.isEmpty() ? null : terms;
+    }
+
+    /**
+     * Returns the terms satisfied when both lists of terms are satisfied.
+     * <p>
+     * Terms of a list are ORed while requirements of a term are ANDed, so the
+     * result is the cross product of the terms.
+     */
+    private List<NodeSelectorTerm> merge(List<NodeSelectorTerm> terms1, List<NodeSelectorTerm> terms2) {
+        List<NodeSelectorTerm> result = new ArrayList<>(terms1.size() * terms2.size());
+        for (NodeSelectorTerm term1 : terms1) {
+            for (NodeSelectorTerm term2 : terms2) {
+                NodeSelectorTermBuilder term = new NodeSelectorTermBuilder(term1);
+                if (term2.getMatchExpressions() != null) {
+                    term.addAllToMatchExpressions(term2.getMatchExpressions());
+                }
+                if (term2.getMatchFields() != null) {
+                    term.addAllToMatchFields(term2.getMatchFields());
+                }
+                result.add(term.build());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static java.util.logging.Level.WARNING;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.init.Terminator;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Saveable;
+import hudson.model.TaskListener;
+import io.fabric8.kubernetes.api.model.Quantity;
+import jenkins.model.Jenkins;
+
+/**
+ * Keeps the last disk usage samples of each job claim.
+ * <p>
+ * The history is persisted under the controller root and is used to recommend
+ * the size of a claim that stays underused. Samples are kept in memory and
+ * written periodically, a build does not rewrite the whole history.
+ *
+ * @author Nikolas Falco
+ */
+public final class PVCUsageHistory implements Saveable {
+    private static final Logger LOGGER = Logger.getLogger(PVCUsageHistory.class.getName());
+
+    private static final int MAX_SAMPLES = Integer.getInteger(PVCUsageHistory.class.getName() + ".maxSamples", 20);
+    private static final int MIN_SAMPLES = Integer.getInteger(PVCUsageHistory.class.getName() + ".minSamples", 5);
+    // a claim is underused when its peak usage stays below this ratio of the capacity
+    private static final double LOW_WATER_MARK = 0.3;
+    // the recommended size leaves room for the peak usage to double
+    private static final int HEADROOM = 2;
+    private static final long GI = 1024L * 1024 * 1024;
+
+    private static final PVCUsageHistory INSTANCE = new PVCUsageHistory();
+
+    /**
+     * claim name -&gt; samples from the oldest.
+     */
+    private Map<String, List<Sample>> samples = new HashMap<>();
+    /**
+     * shard claim name -&gt; job claim name.
+     */
+    private Map<String, String> owners = new HashMap<>();
+
+    private transient boolean loaded;
+    private transient boolean dirty;
+
+    /**
+     * Disk usage of a claim at a given time.
+     */
+    public static final class Sample {
+        private final long timestamp;
+        private final long capacity;
+        private final long used;
+
+        public Sample(long timestamp, long capacity, long used) {
+            this.timestamp = timestamp;
+            this.capacity = capacity;
+            this.used = used;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public long getUsed() {
+            return used;
+        }
+    }
+
+    private PVCUsageHistory() {
+    }
+
+    @NonNull
+    public static PVCUsageHistory get() {
+        return INSTANCE;
+    }
+
+    private XmlFile getConfigFile() {
+        return new XmlFile(Jenkins.XSTREAM2, new File(Jenkins.get().getRootDir(), PVCUsageHistory.class.getName() + ".xml"));
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        XmlFile file = getConfigFile();
+        if (file.exists()) {
+            try {
+                file.unmarshal(this);
+            } catch (IOException e) {
+                LOGGER.log(WARNING, "Failed to load " + file, e);
+            }
+        }
+        if (samples == null) {
+            samples = new HashMap<>();
+        }
+        if (owners == null) {
+            owners = new HashMap<>();
+        }
+    }
+
+    @Override
+    public synchronized void save() {
+        try {
+            getConfigFile().write(this);
+            dirty = false;
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Failed to save PVC usage history", e);
+        }
+    }
+
+    /**
+     * Writes the samples recorded since the last save.
+     */
+    @Terminator
+    public static void flush() {
+        PVCUsageHistory history = get();
+        synchronized (history) {
+            if (history.dirty) {
+                history.save();
+            }
+        }
+    }
+
+    /**
+     * Records the disk usage of the given claim.
+     *
+     * @param pvcName the claim name
+     * @param jobPVCName the claim name of the job, it differs from the claim
+     *        name for the shards
+     * @param capacity the size of the volume in bytes
+     * @param used the used space in bytes
+     */
+    public synchronized void record(@NonNull String pvcName, @NonNull String jobPVCName, long capacity, long used) {
+        load();
+        List<Sample> history = samples.computeIfAbsent(pvcName, k -> new ArrayList<>());
+        history.add(new Sample(System.currentTimeMillis(), capacity, used));
+        if (history.size() > MAX_SAMPLES) {
+            history.subList(0, history.size() - MAX_SAMPLES).clear();
+        }
+        if (!pvcName.equals(jobPVCName)) {
+            owners.put(pvcName, jobPVCName);
+        }
+        // written by the Flusher
+        dirty = true;
+    }
+
+    /**
+     * Returns the usage samples of the given claim.
+     *
+     * @param pvcName the claim name
+     * @return the samples from the oldest
+     */
+    @NonNull
+    public synchronized List<Sample> getSamples(@NonNull String pvcName) {
+        load();
+        return List.copyOf(samples.getOrDefault(pvcName, List.of()));
+    }
+
+    /**
+     * Returns a smaller size for a claim that stays underused.
+     *
+     * @param pvcName the claim name
+     * @return the recommended size or {@code null} if there are not enough
+     *         samples or the claim is not underused
+     */
+    @CheckForNull
+    public synchronized Quantity getRecommendedSize(@NonNull String pvcName) {
+        load();
+        List<Sample> history = samples.get(pvcName);
+        if (history == null || history.size() < MIN_SAMPLES) {
+            return null;
+        }
+        long peak = 0;
+        long capacity = Long.MAX_VALUE;
+        for (Sample sample : history) {
+            peak = Math.max(peak, sample.used);
+            capacity = Math.min(capacity, sample.capacity);
+        }
+        if (peak >= capacity * LOW_WATER_MARK) {
+            return null;
+        }
+        return toGi(Math.max(peak * HEADROOM, GI));
+    }
+
+    /**
+     * Returns the given size in bytes rounded up to gibibytes.
+     *
+     * @param bytes the size in bytes
+     * @return the size as quantity
+     */
+    @NonNull
+    static Quantity toGi(long bytes) {
+        return new Quantity(BigDecimal.valueOf((bytes + GI - 1) / GI).toPlainString(), "Gi");
+    }
+
+    /**
+     * Forgets the history of the given job claim and of its shards, for
+     * example because the job has been deleted.
+     *
+     * @param jobPVCName the claim name of the job
+     */
+    public synchronized void remove(@NonNull String jobPVCName) {
+        load();
+        // shards are recognised by their owner, a job named "foo-1" is not a shard of "foo"
+        boolean changed = samples.keySet().removeIf(name -> name.equals(jobPVCName) || jobPVCName.equals(owners.get(name)));
+        changed |= owners.values().removeIf(jobPVCName::equals);
+        if (changed) {
+            save();
+        }
+    }
+
+    /**
+     * Periodically writes the recorded samples.
+     */
+    @Extension
+    public static class Flusher extends AsyncPeriodicWork {
+
+        private static final long RECURRENCE_PERIOD = Long.getLong(PVCUsageHistory.class.getName() + ".savePeriod", TimeUnit.MINUTES.toMillis(1));
+
+        public Flusher() {
+            super("PVC usage history flusher");
+        }
+
+        @Override
+        public long getRecurrencePeriod() {
+            return RECURRENCE_PERIOD;
+        }
+
+        @Override
+        protected void execute(TaskListener listener) throws IOException, InterruptedException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+import static java.util.logging.Level.WARNING;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.util.logging.Logger;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesSlave;
+import org.csanchez.jenkins.plugins.kubernetes.PodTemplate;
+import org.jenkinsci.plugins.kubernetes.auth.KubernetesAuthException;
+
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hudson.slaves.ComputerListener;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import jenkins.MasterToSlaveFileCallable;
+import jenkins.util.Timer;
+
+/**
+ * Samples the disk usage of the job claim when an agent that mounts it comes
+ * online.
+ * <p>
+ * A job claim outlives the agent pods, so the usage measured when the next
+ * agent comes online is what the previous builds left, without racing with
+ * the removal of the agent at the end of the build. A claim over the
+ * configured high-water mark is expanded.
+ *
+ * @author Nikolas Falco
+ */
+@Extension
+public class PVCUsageSampler extends ComputerListener {
+    private static final Logger LOGGER = Logger.getLogger(PVCUsageSampler.class.getName());
+
+    // an expanded claim grows at least of this factor
+    private static final double GROWTH = 1.5;
+
+    @Override
+    public void onOnline(Computer c, TaskListener listener) {
+        Node node = c.getNode();
+        if (!(node instanceof KubernetesSlave agent)) {
+            return;
+        }
+        PodTemplate template = agent.getTemplateOrNull();
+        if (template == null || !(template.getWorkspaceVolume() instanceof JobPVCWorkspaceVolume volume)) {
+            return;
+        }
+        FilePath workspace = agent.getRootPath();
+        if (workspace == null) {
+            return;
+        }
+        Timer.get().submit(() -> sample(agent, volume, workspace));
+    }
+
+    private void sample(KubernetesSlave agent, JobPVCWorkspaceVolume volume, FilePath workspace) {
+        String pvcName = volume.getPvcName(agent.getPodName());
+        try {
+            long[] usage = workspace.act(new DiskUsage());
+            long capacity = usage[0];
+            long used = usage[1];
+            LOGGER.log(FINE, "PVC {0} uses {1} of {2} bytes", new Object[] { pvcName, used, capacity });
+            PVCUsageHistory.get().record(pvcName, PVCUtil.normalize(volume.getClaimName()), capacity, used);
+
+            Quantity recommended = PVCUsageHistory.get().getRecommendedSize(pvcName);
+            if (recommended != null) {
+                LOGGER.log(INFO, "PVC {0} is underused, the recommended size is {1}", new Object[] { pvcName, recommended });
+            }
+
+            int threshold = ProvisioningConfiguration.get().getAutoExpandThreshold();
+            if (threshold > 0 && capacity > 0 && used * 100 >= capacity * threshold) {
+                expand(agent, pvcName, capacity, used, threshold);
+            }
+        } catch (IOException | KubernetesAuthException | KubernetesClientException | IllegalStateException e) {
+            LOGGER.log(WARNING, "Can not sample the disk usage of PVC " + pvcName, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void expand(KubernetesSlave agent, String pvcName, long capacity, long used, int threshold) throws KubernetesAuthException, IOException {
+        KubernetesClient client = agent.getKubernetesCloud().connect();
+        String namespace = agent.getNamespace();
+        PersistentVolumeClaim pvc = PersistentVolumeClaimCache.get(client, namespace, pvcName);
+        if (pvc == null || !PVCUtil.isExpansionAllowed(client, pvc)) {
+            LOGGER.log(INFO, "PVC {0}/{1} is over {2}% of usage but it can not be expanded", new Object[] { namespace, pvcName, threshold });
+            return;
+        }
+        // bring the usage at half of the threshold
+        long size = Math.max((long) (capacity * GROWTH), used * 100 / threshold * 2);
+        Quantity storage = PVCUsageHistory.toGi(size);
+        if (PVCUtil.compare(storage, PVCUtil.getRequestSize(pvc)) <= 0) {
+            return;
+        }
+        ProvisioningMetrics.PVC_EXPAND.inc();
+        client.persistentVolumeClaims().inNamespace(namespace).withName(pvcName).edit(p -> new PersistentVolumeClaimBuilder(p) //
+                .editSpec() //
+                .editResources() //
+                .addToRequests("storage", storage) //
+                .endResources() //
+                .endSpec() //
+                .build());
+        LOGGER.log(INFO, "PVC {0}/{1} is over {2}% of usage, expand to {3}", new Object[] { namespace, pvcName, threshold, storage });
+    }
+
+    /**
+     * Returns the size and the used space of the file system.
+     */
+    private static class DiskUsage extends MasterToSlaveFileCallable<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public long[] invoke(File f, VirtualChannel channel) throws IOException {
+            FileStore store = Files.getFileStore(f.toPath());
+            long total = store.getTotalSpace();
+            return new long[] { total, total - store.getUnallocatedSpace() };
+        }
+    }
+}
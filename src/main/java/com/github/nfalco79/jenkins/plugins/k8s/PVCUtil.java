@@ -17,24 +17,264 @@
 package com.github.nfalco79.jenkins.plugins.k8s;
 
 import java.net.URLDecoder;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Util;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimCondition;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimStatus;
 import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.storage.StorageClass;
+import io.fabric8.kubernetes.client.KubernetesClient;
 
 public final class PVCUtil {
+    private static final String DEFAULT_STORAGE_CLASS_ANNOTATION = "storageclass.kubernetes.io/is-default-class";
+    private static final String FILE_SYSTEM_RESIZE_PENDING = "FileSystemResizePending";
+    private static final String BINDING_MODE_WAIT_FOR_FIRST_CONSUMER = "WaitForFirstConsumer";
+    private static final String PVC_PREFIX = "pvc-";
+    private static final int MAX_NAME_LENGTH = 63;
+    private static final int HASH_LENGTH = 8;
+    private static final int CACHE_SIZE = Integer.getInteger(PVCUtil.class.getName() + ".cacheSize", 4096);
+
+    /**
+     * Job full name -&gt; claim name, most recently used.
+     */
+    private static final Map<String, String> NAMES = new LinkedHashMap<>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
 
     private PVCUtil() {
     }
 
-    public static String normalize(String claimName) {
-        @SuppressWarnings("deprecation")
-        String normalized = "pvc-" + URLDecoder.decode(claimName).trim().replace(' ', '-').replace('/', '-').toLowerCase();
-        // remove any not admitted characters
-        return normalized.replaceAll("[^0-9a-z-._]", "");
+    /**
+     * Returns the claim name for the given job full name.
+     * <p>
+     * Lower case letters, digits, dots and hyphens are kept. Any change to
+     * the job name, like the lowering of upper case letters, the decoding of
+     * URL encoded characters, the folder separator that becomes an hyphen,
+     * the replacement of spaces and underscores or the removal of unsupported
+     * characters, could map different jobs to the same claim. In this case,
+     * or when the name exceeds {@value #MAX_NAME_LENGTH} characters, a stable
+     * hash of the job name is appended.
+     *
+     * @param claimName the job full name
+     * @return a valid claim name
+     */
+    @NonNull
+    public static String normalize(@NonNull String claimName) {
+        synchronized (NAMES) {
+            String pvcName = NAMES.get(claimName);
+            if (pvcName != null) {
+                return pvcName;
+            }
+        }
+        String pvcName = derive(claimName);
+        synchronized (NAMES) {
+            NAMES.put(claimName, pvcName);
+        }
+        return pvcName;
+    }
+
+    private static String derive(String claimName) {
+        StringBuilder sb = new StringBuilder(PVC_PREFIX.length() + claimName.length());
+        sb.append(PVC_PREFIX);
+        boolean lossy = false;
+        int length = claimName.length();
+        for (int i = 0; i < length; i++) {
+            char c = claimName.charAt(i);
+            if (c == '%' && i + 2 < length && isHex(claimName.charAt(i + 1)) && isHex(claimName.charAt(i + 2))) {
+                c = (char) Integer.parseInt(claimName, i + 1, i + 3, 16);
+                i += 2;
+                // "a%2Db" and "a-b" would have the same name
+                lossy = true;
+            }
+            if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+                sb.append(c);
+            } else if (c >= 'A' && c <= 'Z') {
+                // "Job" and "job" would have the same name
+                lossy = true;
+                sb.append((char) (c + ('a' - 'A')));
+            } else if (c == '/' || c == '-' || c == '.') {
+                char last = sb.charAt(sb.length() - 1);
+                char separator = c == '/' ? '-' : c;
+                if (c == '/') {
+                    // "a/b" and "a-b" would have the same name
+                    lossy = true;
+                }
+                if (last == '.' || separator == '.' && last == '-') {
+                    // only alphanumeric characters are admitted around a dot
+                    lossy = true;
+                } else {
+                    sb.append(separator);
+                }
+            } else if (c == ' ' || c == '_') {
+                lossy = true;
+                if (sb.charAt(sb.length() - 1) != '.') {
+                    sb.append('-');
+                }
+            } else {
+                // not admitted character
+                lossy = true;
+            }
+        }
+        int end = trimSeparators(sb, sb.length());
+        if (end != sb.length()) {
+            lossy = true;
+        }
+        if (end > MAX_NAME_LENGTH) {
+            lossy = true;
+            end = trimSeparators(sb, MAX_NAME_LENGTH - HASH_LENGTH - 1);
+        }
+        sb.setLength(end);
+        if (lossy) {
+            if (end > PVC_PREFIX.length()) {
+                sb.append('-');
+            }
+            sb.append(Util.getHexOfSHA256DigestOf(claimName), 0, HASH_LENGTH);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the claim name that the released versions of the plugin used
+     * for the given job full name, before {@link #normalize(String)} made
+     * the name unique for each job.
+     *
+     * @param claimName the job full name
+     * @return the claim name or {@code null} if that version could not
+     *         derive a name from the job name
+     */
+    @CheckForNull
+    static String legacyNormalize(@NonNull String claimName) {
+        try {
+            @SuppressWarnings("deprecation")
+            String normalized = PVC_PREFIX + URLDecoder.decode(claimName).trim().replace(' ', '-').replace('/', '-').toLowerCase();
+            // remove any not admitted characters
+            return normalized.replaceAll("[^0-9a-z-._]", "");
+        } catch (IllegalArgumentException e) {
+            // invalid URL encoding
+            return null;
+        }
+    }
+
+    private static boolean isHex(char c) {
+        return c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F';
+    }
+
+    private static int trimSeparators(CharSequence name, int end) {
+        while (end > PVC_PREFIX.length() && !Character.isLetterOrDigit(name.charAt(end - 1))) {
+            end--;
+        }
+        return end;
     }
 
     public static Quantity getRequestSize(@NonNull PersistentVolumeClaim pvc) {
         return pvc.getSpec().getResources().getRequests().get("storage");
     }
+
+    /**
+     * Compares two storage quantity.
+     *
+     * @param q1 the first quantity to compare
+     * @param q2 the second quantity to compare
+     * @return the value 0 if q1 is equal to q2, a value less than 0 if q1 is
+     *         less than q2 and a value greater than 0 if q1 is greater than q2
+     */
+    public static int compare(@NonNull Quantity q1, @NonNull Quantity q2) {
+        return q1.getNumericalAmount().compareTo(q2.getNumericalAmount());
+    }
+
+    /**
+     * Returns if the given claim is bound to a persistent volume.
+     *
+     * @param pvc the claim to check
+     * @return {@code true} if the claim phase is Bound
+     */
+    public static boolean isBound(@CheckForNull PersistentVolumeClaim pvc) {
+        return pvc != null && pvc.getStatus() != null && "Bound".equals(pvc.getStatus().getPhase());
+    }
+
+    /**
+     * Returns if the storage class of the given claim allows to expand the
+     * volume without recreate it.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param pvc the claim to check
+     * @return {@code true} if the storage class has allowVolumeExpansion set
+     */
+    public static boolean isExpansionAllowed(@NonNull KubernetesClient client, @NonNull PersistentVolumeClaim pvc) {
+        StorageClass storageClass = getStorageClass(client, pvc.getSpec().getStorageClassName());
+        return storageClass != null && Boolean.TRUE.equals(storageClass.getAllowVolumeExpansion());
+    }
+
+    /**
+     * Returns if the given storage class binds a claim only when a pod that
+     * uses it is scheduled.
+     *
+     * @param storageClass the storage class to check
+     * @return {@code true} if the volume binding mode is WaitForFirstConsumer
+     */
+    public static boolean isDelayedBinding(@CheckForNull StorageClass storageClass) {
+        return storageClass != null && BINDING_MODE_WAIT_FOR_FIRST_CONSUMER.equals(storageClass.getVolumeBindingMode());
+    }
+
+    /**
+     * Returns the storage class with the given name or the cluster default
+     * storage class if name is not specified.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param storageClassName the storage class name
+     * @return the storage class or {@code null} if not exists
+     */
+    @CheckForNull
+    public static StorageClass getStorageClass(@NonNull KubernetesClient client, @CheckForNull String storageClassName) {
+        if (storageClassName != null && !storageClassName.isBlank()) {
+            return client.storage().v1().storageClasses().withName(storageClassName).get();
+        }
+        return client.storage().v1().storageClasses().list().getItems().stream() //
+                .filter(sc -> {
+                    Map<String, String> annotations = sc.getMetadata().getAnnotations();
+                    return annotations != null && "true".equals(annotations.get(DEFAULT_STORAGE_CLASS_ANNOTATION));
+                }) //
+                .findFirst() //
+                .orElse(null);
+    }
+
+    /**
+     * Returns if the claim has been resized to the given storage quantity.
+     * <p>
+     * A claim is considered resized when the capacity reach the request or
+     * when the only pending operation is the file system resize that the
+     * kubelet performs when the volume is mounted by the next pod.
+     *
+     * @param pvc the claim to check
+     * @param storage the expected storage quantity
+     * @return {@code true} if the volume has been expanded
+     */
+    public static boolean isResized(@CheckForNull PersistentVolumeClaim pvc, @NonNull Quantity storage) {
+        if (pvc == null || pvc.getStatus() == null) {
+            return false;
+        }
+        PersistentVolumeClaimStatus status = pvc.getStatus();
+        Quantity capacity = status.getCapacity() != null ? status.getCapacity().get("storage") : null;
+        if (capacity != null && compare(capacity, storage) >= 0) {
+            return true;
+        }
+        if (status.getConditions() != null) {
+            for (PersistentVolumeClaimCondition condition : status.getConditions()) {
+                if (FILE_SYSTEM_RESIZE_PENDING.equals(condition.getType()) && "True".equals(condition.getStatus())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 }
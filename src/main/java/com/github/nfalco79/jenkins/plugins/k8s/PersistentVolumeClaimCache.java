@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+import com.codahale.metrics.Timer.Context;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.init.Terminator;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+
+/**
+ * Shared read cache of the persistent volume claims, one informer for each
+ * Kubernetes API server and namespace.
+ * <p>
+ * Lookups are served from the informer store indexed by claim name, the API
+ * server is contacted only for writes or when the informer is not yet
+ * synchronised.
+ *
+ * @author Nikolas Falco
+ */
+public final class PersistentVolumeClaimCache {
+    private static final Logger LOGGER = Logger.getLogger(PersistentVolumeClaimCache.class.getName());
+
+    private static final String NAME_INDEX = "name";
+    private static final String JOB_CLAIM_INDEX = "jobClaim";
+    private static final boolean DISABLED = Boolean.getBoolean(PersistentVolumeClaimCache.class.getName() + ".disable");
+
+    private static final ConcurrentMap<String, SharedIndexInformer<PersistentVolumeClaim>> INFORMERS = new ConcurrentHashMap<>();
+
+    private PersistentVolumeClaimCache() {
+    }
+
+    /**
+     * Returns the claim with the given name in the given namespace.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param namespace the namespace of the claim
+     * @param name the claim name
+     * @return the claim or {@code null} if not exists
+     */
+    @CheckForNull
+    public static PersistentVolumeClaim get(@NonNull KubernetesClient client, @NonNull String namespace, @NonNull String name) {
+        try (Context ctx = ProvisioningMetrics.PVC_LOOKUP.time()) {
+            SharedIndexInformer<PersistentVolumeClaim> informer = DISABLED ? null : informer(client, namespace);
+            if (informer == null || !informer.hasSynced()) {
+                // the cache is not yet ready, fallback to a single GET instead of list all claims
+                return client.persistentVolumeClaims().inNamespace(namespace).withName(name).get();
+            }
+            List<PersistentVolumeClaim> pvcs = informer.getIndexer().byIndex(NAME_INDEX, name);
+            return pvcs.isEmpty() ? null : pvcs.get(0);
+        }
+    }
+
+    /**
+     * Returns all claims that belong to the given job claim name, the claim
+     * itself and its shards.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param namespace the namespace of the claims
+     * @param name the job claim name
+     * @return the list of claims
+     */
+    @NonNull
+    public static List<PersistentVolumeClaim> getJobClaims(@NonNull KubernetesClient client, @NonNull String namespace, @NonNull String name) {
+        SharedIndexInformer<PersistentVolumeClaim> informer = DISABLED ? null : informer(client, namespace);
+        if (informer == null || !informer.hasSynced()) {
+            return client.persistentVolumeClaims().inNamespace(namespace).list().getItems().stream() //
+                    .filter(pvc -> jobClaimIndex(pvc).contains(name)) //
+                    .toList();
+        }
+        return informer.getIndexer().byIndex(JOB_CLAIM_INDEX, name);
+    }
+
+    private static List<String> jobClaimIndex(PersistentVolumeClaim pvc) {
+        Map<String, String> annotations = pvc.getMetadata().getAnnotations();
+        String shardOf = annotations != null ? annotations.get(K8sConstants.ANNOTATION_SHARD_OF) : null;
+        return shardOf != null ? List.of(shardOf) : List.of(pvc.getMetadata().getName());
+    }
+
+    /**
+     * Returns all claims in the given namespace known by the cache.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param namespace the namespace of the claims
+     * @return the list of claims
+     */
+    @NonNull
+    public static List<PersistentVolumeClaim> list(@NonNull KubernetesClient client, @NonNull String namespace) {
+        SharedIndexInformer<PersistentVolumeClaim> informer = DISABLED ? null : informer(client, namespace);
+        if (informer == null || !informer.hasSynced()) {
+            return client.persistentVolumeClaims().inNamespace(namespace).list().getItems();
+        }
+        return informer.getStore().list();
+    }
+
+    /**
+     * Returns if the claims of the given namespace are served from the cache.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param namespace the namespace of the claims
+     * @return {@code true} if the informer of the namespace is synchronised
+     */
+    static boolean hasSynced(@NonNull KubernetesClient client, @NonNull String namespace) {
+        SharedIndexInformer<PersistentVolumeClaim> informer = DISABLED ? null : informer(client, namespace);
+        return informer != null && informer.hasSynced();
+    }
+
+    @CheckForNull
+    private static SharedIndexInformer<PersistentVolumeClaim> informer(KubernetesClient client, String namespace) {
+        String key = client.getMasterUrl() + "|" + namespace;
+        try {
+            return INFORMERS.compute(key, (k, informer) -> {
+                if (informer != null && informer.isRunning()) {
+                    return informer;
+                }
+                if (informer != null) {
+                    // the client that owns the informer has been closed, for example on cloud configuration change
+                    informer.stop();
+                }
+                LOGGER.log(FINE, "Start PVC informer for {0}", k);
+                SharedIndexInformer<PersistentVolumeClaim> newInformer = client.persistentVolumeClaims() //
+                        .inNamespace(namespace) //
+                        .runnableInformer(0);
+                newInformer.addIndexers(Map.of(NAME_INDEX, pvc -> List.of(pvc.getMetadata().getName()), //
+                        JOB_CLAIM_INDEX, PersistentVolumeClaimCache::jobClaimIndex));
+                newInformer.start();
+                return newInformer;
+            });
+        } catch (KubernetesClientException e) {
+            LOGGER.log(WARNING, "Can not start PVC informer for " + key, e);
+            return null;
+        }
+    }
+
+    @Terminator
+    public static void shutdown() {
+        INFORMERS.values().forEach(SharedIndexInformer::stop);
+        INFORMERS.clear();
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+
+import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceQuota;
+import io.fabric8.kubernetes.api.model.storage.StorageClass;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+
+/**
+ * Admission control of the claim creations.
+ * <p>
+ * Creations are limited to a configured number of concurrent provisionings
+ * for each Kubernetes API server and storage class, a creation holds its
+ * permit until the claim is bound, so that the limit applies to the work of
+ * the storage provisioner and not only to the API requests. A creation that would
+ * exceed the storage {@code ResourceQuota} of the namespace is refused before
+ * the request is sent. The quota is read once the creation is admitted, so
+ * that it accounts for the claims created while waiting.
+ *
+ * @author Nikolas Falco
+ */
+public final class ProvisioningAdmission {
+    private static final Logger LOGGER = Logger.getLogger(ProvisioningAdmission.class.getName());
+
+    private static final long TIMEOUT = Long.getLong(ProvisioningAdmission.class.getName() + ".timeout", TimeUnit.MINUTES.toSeconds(10));
+    private static final long HOLD_TIMEOUT = Long.getLong(ProvisioningAdmission.class.getName() + ".holdTimeout", TimeUnit.MINUTES.toSeconds(10));
+    private static final String REQUESTS_STORAGE = "requests.storage";
+    private static final String REQUESTS_PVC = "persistentvolumeclaims";
+    private static final String STORAGE_CLASS_QUOTA_PREFIX = ".storageclass.storage.k8s.io/";
+    private static final String DEFAULT_STORAGE_CLASS = "<default>";
+    private static final String PHASE_LOST = "Lost";
+
+    private static final ConcurrentMap<String, Limiter> LIMITERS = new ConcurrentHashMap<>();
+    private static final Permit UNLIMITED = () -> {
+        // nothing to release
+    };
+
+    private ProvisioningAdmission() {
+    }
+
+    /**
+     * A permit to create a claim.
+     */
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+
+        /**
+         * Keeps the permit after it is closed until the given claim is bound,
+         * deleted or lost. A claim that is not bound in time releases the
+         * permit as well, a stuck provisioning does not block the others.
+         *
+         * @param client the client used to contact the Kubernetes cluster
+         * @param pvc the created claim
+         */
+        default void holdUntilBound(@NonNull KubernetesClient client, @NonNull PersistentVolumeClaim pvc) {
+            // nothing to hold
+        }
+    }
+
+    private static final class LimiterPermit implements Permit {
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean held;
+
+        LimiterPermit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void close() {
+            if (!held) {
+                release();
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+
+        @Override
+        public void holdUntilBound(@NonNull KubernetesClient client, @NonNull PersistentVolumeClaim pvc) {
+            String namespace = pvc.getMetadata().getNamespace();
+            String name = pvc.getMetadata().getName();
+            if (PVCUtil.isBound(pvc)) {
+                return;
+            }
+            try {
+                client.persistentVolumeClaims() //
+                        .inNamespace(namespace) //
+                        .withName(name) //
+                        .informOnCondition(pvcs -> pvcs.isEmpty() || PVCUtil.isBound(pvcs.get(0)) || PHASE_LOST.equals(getPhase(pvcs.get(0)))) //
+                        .orTimeout(HOLD_TIMEOUT, TimeUnit.SECONDS) //
+                        .whenComplete((pvcs, e) -> {
+                            if (e != null) {
+                                LOGGER.log(FINE, "PVC {0}/{1} is not bound after {2} seconds, release its creation permit", new Object[] { namespace, name, HOLD_TIMEOUT });
+                            }
+                            release();
+                        });
+                held = true;
+            } catch (KubernetesClientException e) {
+                LOGGER.log(FINE, "Can not watch PVC " + namespace + "/" + name + ", release its creation permit", e);
+            }
+        }
+
+        private static String getPhase(PersistentVolumeClaim pvc) {
+            return pvc.getStatus() != null ? pvc.getStatus().getPhase() : null;
+        }
+    }
+
+    private static final class Limiter {
+        private final int permits;
+        private final Semaphore semaphore;
+
+        Limiter(int permits) {
+            this.permits = permits;
+            this.semaphore = new Semaphore(permits, true);
+        }
+    }
+
+    /**
+     * Waits until the creation of a claim is admitted.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param namespace the namespace of the claim
+     * @param storageClassName the storage class of the claim, {@code null} for
+     *        the default storage class
+     * @param storage the requested storage size
+     * @return the permit to close when the claim has been created, it can
+     *         be held until the claim is bound
+     * @throws KubernetesClientException if the creation would exceed the
+     *         namespace quota or it is not admitted in time
+     */
+    @NonNull
+    public static Permit acquire(@NonNull KubernetesClient client,
+                                 @NonNull String namespace,
+                                 @CheckForNull String storageClassName,
+                                 @NonNull Quantity storage) {
+        String storageClass = storageClassName;
+        if (storageClass == null || storageClass.isBlank()) {
+            StorageClass defaultClass = PVCUtil.getStorageClass(client, null);
+            storageClass = defaultClass != null ? defaultClass.getMetadata().getName() : null;
+        }
+
+        int maxConcurrent = ProvisioningConfiguration.get().getMaxConcurrentCreations();
+        if (maxConcurrent <= 0) {
+            checkQuota(client, namespace, storageClass, storage);
+            return UNLIMITED;
+        }
+        String key = client.getMasterUrl() + "|" + (storageClass != null ? storageClass : DEFAULT_STORAGE_CLASS);
+        // a configuration change replaces the limiter, claims in progress release the old one
+        Limiter limiter = LIMITERS.compute(key, (k, l) -> l != null && l.permits == maxConcurrent ? l : new Limiter(maxConcurrent));
+        try {
+            if (!limiter.semaphore.tryAcquire()) {
+                LOGGER.log(INFO, "{0} claim creations in progress for {1}, wait to create a PVC in {2}", new Object[] { maxConcurrent, key, namespace });
+                if (!limiter.semaphore.tryAcquire(TIMEOUT, TimeUnit.SECONDS)) {
+                    throw new KubernetesClientException(Messages.ProvisioningAdmission_timeout(namespace, storageClass, TIMEOUT));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KubernetesClientException(Messages.ProvisioningAdmission_timeout(namespace, storageClass, TIMEOUT), e);
+        }
+        // read the quota only now, claims created while waiting have consumed part of it
+        try {
+            checkQuota(client, namespace, storageClass, storage);
+        } catch (RuntimeException e) {
+            limiter.semaphore.release();
+            throw e;
+        }
+        return new LimiterPermit(limiter.semaphore);
+    }
+
+    private static void checkQuota(KubernetesClient client, String namespace, String storageClass, Quantity storage) {
+        List<ResourceQuota> quotas;
+        try {
+            quotas = client.resourceQuotas().inNamespace(namespace).list().getItems();
+        } catch (KubernetesClientException e) {
+            if (e.getCode() != HttpURLConnection.HTTP_FORBIDDEN) {
+                throw e;
+            }
+            LOGGER.log(FINE, "Not allowed to read the resource quotas of namespace {0}", namespace);
+            return;
+        }
+
+        for (ResourceQuota quota : quotas) {
+            if (quota.getStatus() == null || quota.getStatus().getHard() == null) {
+                continue;
+            }
+            Map<String, Quantity> hard = quota.getStatus().getHard();
+            Map<String, Quantity> used = quota.getStatus().getUsed() != null ? quota.getStatus().getUsed() : Map.of();
+            String quotaName = quota.getMetadata().getName();
+            checkLimit(namespace, quotaName, REQUESTS_STORAGE, hard, used, storage.getNumericalAmount());
+            checkLimit(namespace, quotaName, REQUESTS_PVC, hard, used, BigDecimal.ONE);
+            if (storageClass != null) {
+                checkLimit(namespace, quotaName, storageClass + STORAGE_CLASS_QUOTA_PREFIX + REQUESTS_STORAGE, hard, used, storage.getNumericalAmount());
+                checkLimit(namespace, quotaName, storageClass + STORAGE_CLASS_QUOTA_PREFIX + REQUESTS_PVC, hard, used, BigDecimal.ONE);
+            }
+        }
+    }
+
+    private static void checkLimit(String namespace, String quotaName, String resource, Map<String, Quantity> hard, Map<String, Quantity> used, BigDecimal request) {
+        Quantity limit = hard.get(resource);
+        if (limit == null) {
+            return;
+        }
+        Quantity actual = used.get(resource);
+        BigDecimal available = limit.getNumericalAmount().subtract(actual != null ? actual.getNumericalAmount() : BigDecimal.ZERO);
+        if (request.compareTo(available) > 0) {
+            throw new KubernetesClientException(Messages.ProvisioningAdmission_quotaExceeded(namespace, quotaName, resource, //
+                    request.toPlainString(), available.max(BigDecimal.ZERO).toPlainString(), limit));
+        }
+    }
+}
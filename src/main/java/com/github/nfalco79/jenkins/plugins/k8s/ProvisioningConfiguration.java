@@ -0,0 +1,291 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jenkinsci.Symbol;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.DoNotUse;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest2;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.Util;
+import hudson.util.FormValidation;
+import jenkins.model.GlobalConfiguration;
+import net.sf.json.JSONObject;
+
+/**
+ * Global settings of the persistent volume claim provisioning.
+ *
+ * @author Nikolas Falco
+ */
+@Extension
+@Symbol("k8sProvisioning")
+public class ProvisioningConfiguration extends GlobalConfiguration {
+
+    private List<WarmPoolTemplate> warmPools = new ArrayList<>();
+    private int idleDays;
+    private boolean collectorDryRun;
+    private boolean collectOrphans;
+    private int orphanGraceDays = 1;
+    private int collectorBatchSize = 10;
+    private int maxConcurrentCreations;
+    private int autoExpandThreshold;
+    private boolean applyRecommendedSize;
+    private String hotStorageClassName;
+    private String coldStorageClassName;
+    private int hotBuildThreshold;
+    private int tieringWindowDays = 7;
+    private long toolCacheMaxSize = 1024;
+
+    public ProvisioningConfiguration() {
+        load();
+    }
+
+    @NonNull
+    public static ProvisioningConfiguration get() {
+        return ExtensionList.lookupSingleton(ProvisioningConfiguration.class);
+    }
+
+    @NonNull
+    public List<WarmPoolTemplate> getWarmPools() {
+        return warmPools == null ? Collections.emptyList() : Collections.unmodifiableList(warmPools);
+    }
+
+    @DataBoundSetter
+    public void setWarmPools(List<WarmPoolTemplate> warmPools) {
+        this.warmPools = warmPools == null ? new ArrayList<>() : new ArrayList<>(warmPools);
+    }
+
+    public int getIdleDays() {
+        return idleDays;
+    }
+
+    /**
+     * Sets the number of days after that the claim of a job that does not
+     * build is removed.
+     *
+     * @param idleDays the number of days, 0 disables the collection of idle
+     *        claims
+     */
+    @DataBoundSetter
+    public void setIdleDays(int idleDays) {
+        this.idleDays = Math.max(idleDays, 0);
+    }
+
+    public boolean isCollectorDryRun() {
+        return collectorDryRun;
+    }
+
+    @DataBoundSetter
+    public void setCollectorDryRun(boolean collectorDryRun) {
+        this.collectorDryRun = collectorDryRun;
+    }
+
+    public boolean isCollectOrphans() {
+        return collectOrphans;
+    }
+
+    /**
+     * Sets if the claims of jobs that do not exist are removed. A job that
+     * fails to load at startup looks like a deleted job, so this is disabled
+     * by default.
+     *
+     * @param collectOrphans {@code true} to remove the claims of deleted jobs
+     */
+    @DataBoundSetter
+    public void setCollectOrphans(boolean collectOrphans) {
+        this.collectOrphans = collectOrphans;
+    }
+
+    public int getOrphanGraceDays() {
+        return orphanGraceDays;
+    }
+
+    /**
+     * Sets the number of days a claim must be seen without its job before
+     * it is removed.
+     *
+     * @param orphanGraceDays the number of days, at least 1
+     */
+    @DataBoundSetter
+    public void setOrphanGraceDays(int orphanGraceDays) {
+        this.orphanGraceDays = Math.max(orphanGraceDays, 1);
+    }
+
+    public int getCollectorBatchSize() {
+        return collectorBatchSize;
+    }
+
+    @DataBoundSetter
+    public void setCollectorBatchSize(int collectorBatchSize) {
+        this.collectorBatchSize = Math.max(collectorBatchSize, 1);
+    }
+
+    public int getMaxConcurrentCreations() {
+        return maxConcurrentCreations;
+    }
+
+    /**
+     * Sets the maximum number of claims created at the same time for each
+     * Kubernetes cluster and storage class.
+     *
+     * @param maxConcurrentCreations the number of concurrent creations, 0 means
+     *        unlimited
+     */
+    @DataBoundSetter
+    public void setMaxConcurrentCreations(int maxConcurrentCreations) {
+        this.maxConcurrentCreations = Math.max(maxConcurrentCreations, 0);
+    }
+
+    public int getAutoExpandThreshold() {
+        return autoExpandThreshold;
+    }
+
+    /**
+     * Sets the percentage of used space over that a job claim is expanded.
+     *
+     * @param autoExpandThreshold the usage percentage, 0 disables the
+     *        expansion
+     */
+    @DataBoundSetter
+    public void setAutoExpandThreshold(int autoExpandThreshold) {
+        this.autoExpandThreshold = Math.min(Math.max(autoExpandThreshold, 0), 100);
+    }
+
+    public boolean isApplyRecommendedSize() {
+        return applyRecommendedSize;
+    }
+
+    /**
+     * Sets if a job claim is created with the size recommended by its usage
+     * history when it is smaller than the configured one.
+     *
+     * @param applyRecommendedSize {@code true} to apply the recommended size
+     */
+    @DataBoundSetter
+    public void setApplyRecommendedSize(boolean applyRecommendedSize) {
+        this.applyRecommendedSize = applyRecommendedSize;
+    }
+
+    @CheckForNull
+    public String getHotStorageClassName() {
+        return hotStorageClassName;
+    }
+
+    /**
+     * Sets the storage class of the claims of jobs that build frequently.
+     *
+     * @param hotStorageClassName the storage class name
+     */
+    @DataBoundSetter
+    public void setHotStorageClassName(String hotStorageClassName) {
+        this.hotStorageClassName = Util.fixEmptyAndTrim(hotStorageClassName);
+    }
+
+    @CheckForNull
+    public String getColdStorageClassName() {
+        return coldStorageClassName;
+    }
+
+    /**
+     * Sets the storage class of the claims of jobs that rarely build.
+     *
+     * @param coldStorageClassName the storage class name
+     */
+    @DataBoundSetter
+    public void setColdStorageClassName(String coldStorageClassName) {
+        this.coldStorageClassName = Util.fixEmptyAndTrim(coldStorageClassName);
+    }
+
+    public int getHotBuildThreshold() {
+        return hotBuildThreshold;
+    }
+
+    /**
+     * Sets the number of builds in the tiering window over that a job uses
+     * the hot storage class.
+     *
+     * @param hotBuildThreshold the number of builds, 0 disables the tiering
+     */
+    @DataBoundSetter
+    public void setHotBuildThreshold(int hotBuildThreshold) {
+        this.hotBuildThreshold = Math.max(hotBuildThreshold, 0);
+    }
+
+    public int getTieringWindowDays() {
+        return tieringWindowDays;
+    }
+
+    @DataBoundSetter
+    public void setTieringWindowDays(int tieringWindowDays) {
+        this.tieringWindowDays = Math.max(tieringWindowDays, 1);
+    }
+
+    /**
+     * Returns if the storage class of job claims is chosen by the build
+     * frequency of the job.
+     *
+     * @return {@code true} if both tiers are configured with different
+     *         storage classes
+     */
+    public boolean isTieringEnabled() {
+        return hotBuildThreshold > 0 && hotStorageClassName != null && coldStorageClassName != null //
+                && !hotStorageClassName.equals(coldStorageClassName);
+    }
+
+    @Restricted(DoNotUse.class) // stapler only
+    public FormValidation doCheckColdStorageClassName(@QueryParameter String value, @QueryParameter String hotStorageClassName) {
+        String cold = Util.fixEmptyAndTrim(value);
+        if (cold != null && cold.equals(Util.fixEmptyAndTrim(hotStorageClassName))) {
+            return FormValidation.error(Messages.ProvisioningConfiguration_sameTierStorageClass(cold));
+        }
+        return PVCFormValidation.checkStorageClassName(value);
+    }
+
+    public long getToolCacheMaxSize() {
+        return toolCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum size of the kubectl cache on the controller, the least
+     * recently used binaries are removed when the cache is bigger.
+     *
+     * @param toolCacheMaxSize the size in MB, 0 means unlimited
+     */
+    @DataBoundSetter
+    public void setToolCacheMaxSize(long toolCacheMaxSize) {
+        this.toolCacheMaxSize = Math.max(toolCacheMaxSize, 0);
+    }
+
+    @Override
+    public boolean configure(StaplerRequest2 req, JSONObject json) throws FormException {
+        // repeatable properties are not submitted when empty, so reset them before bind
+        warmPools = new ArrayList<>();
+        req.bindJSON(this, json);
+        save();
+        return true;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import java.io.IOException;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.RootAction;
+import jenkins.metrics.api.MetricProvider;
+import jenkins.model.Jenkins;
+import net.sf.json.JSONObject;
+
+/**
+ * Timers and counters of the provisioning operations.
+ * <p>
+ * Metrics are registered in the Jenkins metrics registry and are also
+ * available as JSON at {@code /k8s-provisioning-metrics/}.
+ *
+ * @author Nikolas Falco
+ */
+public final class ProvisioningMetrics {
+    private static final String PREFIX = "k8s-provisioning.";
+
+    private static final MetricRegistry REGISTRY = new MetricRegistry();
+
+    public static final Timer PVC_LOOKUP = REGISTRY.timer(PREFIX + "pvc.lookup");
+    public static final Timer PVC_CREATE = REGISTRY.timer(PREFIX + "pvc.create");
+    public static final Timer PVC_DELETE = REGISTRY.timer(PREFIX + "pvc.delete");
+    public static final Timer PVC_BOUND = REGISTRY.timer(PREFIX + "pvc.time-to-bound");
+    public static final Counter PVC_EXPAND = REGISTRY.counter(PREFIX + "pvc.expand");
+    public static final Counter PVC_RECREATE = REGISTRY.counter(PREFIX + "pvc.recreate-on-resize");
+    public static final Counter POOL_HIT = REGISTRY.counter(PREFIX + "pool.hit");
+    public static final Counter POOL_MISS = REGISTRY.counter(PREFIX + "pool.miss");
+    public static final Timer KUBECTL_DOWNLOAD = REGISTRY.timer(PREFIX + "kubectl.download");
+    public static final Timer KUBECTL_CACHE_RESTORE = REGISTRY.timer(PREFIX + "kubectl.cache-restore");
+    public static final Counter KUBECTL_BYTES = REGISTRY.counter(PREFIX + "kubectl.bytes");
+    public static final Counter KUBECTL_TRANSFER_SKIPPED = REGISTRY.counter(PREFIX + "kubectl.transfer-skipped");
+    public static final Counter KUBECTL_CACHE_HIT = REGISTRY.counter(PREFIX + "kubectl.cache.hit");
+    public static final Counter KUBECTL_CACHE_MISS = REGISTRY.counter(PREFIX + "kubectl.cache.miss");
+    public static final Counter KUBECTL_CACHE_EVICT = REGISTRY.counter(PREFIX + "kubectl.cache.evict");
+    /**
+     * Bytes used by the controller kubectl cache.
+     */
+    public static final AtomicLong KUBECTL_CACHE_SIZE = new AtomicLong();
+
+    static {
+        REGISTRY.register(PREFIX + "kubectl.cache.size", (Gauge<Long>) KUBECTL_CACHE_SIZE::get);
+    }
+
+    private ProvisioningMetrics() {
+    }
+
+    @NonNull
+    public static MetricRegistry getRegistry() {
+        return REGISTRY;
+    }
+
+    /**
+     * Returns the current value of all metrics as JSON.
+     *
+     * @return a JSON object with a property for each metric
+     */
+    @NonNull
+    @SuppressWarnings("rawtypes")
+    public static JSONObject toJSON() {
+        JSONObject json = new JSONObject();
+        for (Entry<String, Timer> timer : REGISTRY.getTimers().entrySet()) {
+            Snapshot snapshot = timer.getValue().getSnapshot();
+            JSONObject value = new JSONObject();
+            value.put("count", timer.getValue().getCount());
+            value.put("mean", toMillis(snapshot.getMean()));
+            value.put("p50", toMillis(snapshot.getMedian()));
+            value.put("p95", toMillis(snapshot.get95thPercentile()));
+            value.put("p99", toMillis(snapshot.get99thPercentile()));
+            value.put("max", toMillis(snapshot.getMax()));
+            json.put(timer.getKey(), value);
+        }
+        for (Entry<String, Counter> counter : REGISTRY.getCounters().entrySet()) {
+            json.put(counter.getKey(), counter.getValue().getCount());
+        }
+        for (Entry<String, Gauge> gauge : REGISTRY.getGauges().entrySet()) {
+            json.put(gauge.getKey(), gauge.getValue().getValue());
+        }
+        return json;
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Contributes the provisioning metrics to the metrics plugin.
+     */
+    @Extension
+    public static class MetricsProvider extends MetricProvider {
+        @NonNull
+        @Override
+        public MetricSet getMetricSet() {
+            return REGISTRY;
+        }
+    }
+
+    /**
+     * Lightweight JSON endpoint of the provisioning metrics.
+     */
+    @Extension
+    public static class MetricsAction implements RootAction {
+
+        @CheckForNull
+        @Override
+        public String getIconFileName() {
+            return null;
+        }
+
+        @CheckForNull
+        @Override
+        public String getDisplayName() {
+            return null;
+        }
+
+        @Override
+        public String getUrlName() {
+            return "k8s-provisioning-metrics";
+        }
+
+        public void doIndex(StaplerRequest2 req, StaplerResponse2 rsp) throws IOException {
+            Jenkins.get().checkPermission(Jenkins.SYSTEM_READ);
+            rsp.setContentType("application/json;charset=UTF-8");
+            rsp.getWriter().write(toJSON().toString());
+        }
+    }
+}
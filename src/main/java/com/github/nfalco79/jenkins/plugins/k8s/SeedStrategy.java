@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import java.util.Map;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Job;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.TypedLocalObjectReference;
+import io.fabric8.kubernetes.api.model.TypedLocalObjectReferenceBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import jenkins.branch.MultiBranchProject;
+import jenkins.model.Jenkins;
+import jenkins.scm.api.metadata.PrimaryInstanceMetadataAction;
+
+/**
+ * How a new claim is populated with the data of an existing one.
+ *
+ * @author Nikolas Falco
+ */
+public enum SeedStrategy {
+    /**
+     * The claim is created empty.
+     */
+    NONE {
+        @Override
+        public String getDisplayName() {
+            return Messages.SeedStrategy_none();
+        }
+    },
+    /**
+     * The claim is a CSI clone of the source claim.
+     */
+    PVC_CLONE {
+        @Override
+        public String getDisplayName() {
+            return Messages.SeedStrategy_clone();
+        }
+    },
+    /**
+     * The claim is restored from a VolumeSnapshot that has the same name of
+     * the source claim.
+     */
+    VOLUME_SNAPSHOT {
+        @Override
+        public String getDisplayName() {
+            return Messages.SeedStrategy_snapshot();
+        }
+    };
+
+    public static final String SNAPSHOT_API_GROUP = "snapshot.storage.k8s.io";
+    public static final String SNAPSHOT_API_VERSION = SNAPSHOT_API_GROUP + "/v1";
+    public static final String SNAPSHOT_KIND = "VolumeSnapshot";
+    private static final String PVC_KIND = "PersistentVolumeClaim";
+
+    public abstract String getDisplayName();
+
+    /**
+     * Returns the data source for a claim seeded from the given source claim.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param namespace the namespace of the claims
+     * @param sourcePVCName the name of the claim that owns the data
+     * @return the data source or {@code null} if the source is not available
+     */
+    @CheckForNull
+    public TypedLocalObjectReference dataSourceOf(@NonNull KubernetesClient client, @NonNull String namespace, @NonNull String sourcePVCName) {
+        switch (this) {
+        case PVC_CLONE:
+            PersistentVolumeClaim source = PersistentVolumeClaimCache.get(client, namespace, sourcePVCName);
+            if (source == null || source.getMetadata().getDeletionTimestamp() != null) {
+                return null;
+            }
+            return new TypedLocalObjectReferenceBuilder() //
+                    .withKind(PVC_KIND) //
+                    .withName(sourcePVCName) //
+                    .build();
+        case VOLUME_SNAPSHOT:
+            GenericKubernetesResource snapshot = client.genericKubernetesResources(SNAPSHOT_API_VERSION, SNAPSHOT_KIND) //
+                    .inNamespace(namespace) //
+                    .withName(sourcePVCName) //
+                    .get();
+            if (snapshot == null || !isReadyToUse(snapshot)) {
+                return null;
+            }
+            return new TypedLocalObjectReferenceBuilder() //
+                    .withApiGroup(SNAPSHOT_API_GROUP) //
+                    .withKind(SNAPSHOT_KIND) //
+                    .withName(sourcePVCName) //
+                    .build();
+        default:
+            return null;
+        }
+    }
+
+    static boolean isReadyToUse(@NonNull GenericKubernetesResource snapshot) {
+        Object status = snapshot.getAdditionalProperties().get("status");
+        return status instanceof Map<?, ?> map && Boolean.TRUE.equals(map.get("readyToUse"));
+    }
+
+    /**
+     * Returns the primary branch job of the multibranch project that contains
+     * the given job.
+     *
+     * @param jobFullName the full name of a branch job
+     * @return the primary branch job full name or {@code null} if the job is
+     *         not a branch job or the primary branch is unknown
+     */
+    @CheckForNull
+    public static String primaryBranchOf(@NonNull String jobFullName) {
+        Job<?, ?> job = Jenkins.get().getItemByFullName(jobFullName, Job.class);
+        if (job == null) {
+            return null;
+        }
+        ItemGroup<? extends Item> parent = job.getParent();
+        if (parent instanceof MultiBranchProject<?, ?> project) {
+            for (Job<?, ?> branch : project.getItems()) {
+                if (branch.getAction(PrimaryInstanceMetadataAction.class) != null) {
+                    return branch.getFullName();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Node;
+import hudson.model.Saveable;
+import hudson.slaves.NodeListener;
+import jenkins.model.Jenkins;
+
+/**
+ * Keeps track of which agent pod holds each slot of a sharded job claim.
+ * <p>
+ * Leases are persisted under the controller root so they survive a restart, a
+ * lease is released when the agent node is removed or, lazily, when its node no
+ * longer exists.
+ *
+ * @author Nikolas Falco
+ */
+public final class ShardLeases implements Saveable {
+    private static final Logger LOGGER = Logger.getLogger(ShardLeases.class.getName());
+
+    private static final ShardLeases INSTANCE = new ShardLeases();
+
+    /**
+     * claim base name -&gt; slot -&gt; pod name.
+     */
+    private Map<String, Map<Integer, String>> leases = new HashMap<>();
+
+    private transient boolean loaded;
+
+    private ShardLeases() {
+    }
+
+    @NonNull
+    public static ShardLeases get() {
+        return INSTANCE;
+    }
+
+    private XmlFile getConfigFile() {
+        return new XmlFile(Jenkins.XSTREAM2, new File(Jenkins.get().getRootDir(), ShardLeases.class.getName() + ".xml"));
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        XmlFile file = getConfigFile();
+        if (file.exists()) {
+            try {
+                file.unmarshal(this);
+            } catch (IOException e) {
+                LOGGER.log(WARNING, "Failed to load " + file, e);
+            }
+        }
+        if (leases == null) {
+            leases = new HashMap<>();
+        }
+    }
+
+    @Override
+    public synchronized void save() {
+        try {
+            getConfigFile().write(this);
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Failed to save shard leases", e);
+        }
+    }
+
+    /**
+     * Returns the slot leased to the given pod, leasing a free one if the pod
+     * does not hold any.
+     *
+     * @param claimBaseName the claim name of the job
+     * @param shards the number of slots of the job
+     * @param podName the agent pod name
+     * @return the slot index
+     */
+    public synchronized int acquire(@NonNull String claimBaseName, int shards, @NonNull String podName) {
+        load();
+        Map<Integer, String> slots = leases.computeIfAbsent(claimBaseName, k -> new HashMap<>());
+        for (Entry<Integer, String> lease : slots.entrySet()) {
+            if (podName.equals(lease.getValue())) {
+                return lease.getKey();
+            }
+        }
+
+        // release leases of agents that does not exist anymore, for example removed while controller was down
+        boolean changed = slots.entrySet().removeIf(lease -> lease.getKey() >= shards || Jenkins.get().getNode(lease.getValue()) == null);
+
+        int slot = -1;
+        for (int i = 0; i < shards; i++) {
+            if (!slots.containsKey(i)) {
+                slot = i;
+                break;
+            }
+        }
+        if (slot != -1) {
+            slots.put(slot, podName);
+            changed = true;
+            LOGGER.log(FINE, "Leased slot {0} of {1} to {2}", new Object[] { slot, claimBaseName, podName });
+        } else {
+            // all slots are busy, share one, the pod waits for the volume if it is ReadWriteOnce
+            slot = Math.floorMod(podName.hashCode(), shards);
+            LOGGER.log(WARNING, "All {0} slots of {1} are leased, {2} shares slot {3}", new Object[] { shards, claimBaseName, podName, slot });
+        }
+        if (changed) {
+            save();
+        }
+        return slot;
+    }
+
+    /**
+     * Releases all slots leased to the given pod.
+     *
+     * @param podName the agent pod name
+     */
+    public synchronized void release(@NonNull String podName) {
+        load();
+        boolean changed = false;
+        for (Iterator<Map<Integer, String>> it = leases.values().iterator(); it.hasNext();) {
+            Map<Integer, String> slots = it.next();
+            changed |= slots.values().removeIf(p -> Objects.equals(p, podName));
+            if (slots.isEmpty()) {
+                it.remove();
+            }
+        }
+        if (changed) {
+            LOGGER.log(FINE, "Released slots of {0}", podName);
+            save();
+        }
+    }
+
+    /**
+     * Forgets all leases of the given claim, for example because the job has
+     * been deleted.
+     *
+     * @param claimBaseName the claim name of the job
+     */
+    public synchronized void remove(@NonNull String claimBaseName) {
+        load();
+        if (leases.remove(claimBaseName) != null) {
+            save();
+        }
+    }
+
+    @Extension
+    public static class NodeLeaseListener extends NodeListener {
+        @Override
+        protected void onDeleted(@NonNull Node node) {
+            ShardLeases.get().release(node.getNodeName());
+        }
+    }
+}
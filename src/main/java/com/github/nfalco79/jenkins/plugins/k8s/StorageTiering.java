@@ -0,0 +1,487 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+import static java.util.logging.Level.WARNING;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud;
+import org.jenkinsci.plugins.kubernetes.auth.KubernetesAuthException;
+
+import com.codahale.metrics.Timer.Context;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.TypedLocalObjectReference;
+import io.fabric8.kubernetes.api.model.TypedLocalObjectReferenceBuilder;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.KubernetesClientTimeoutException;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import jenkins.model.Jenkins;
+
+/**
+ * Chooses the storage class of a job claim by the build frequency of the job
+ * and moves existing claims between storage classes.
+ * <p>
+ * A claim can not change its storage class and a CSI clone must use the same
+ * storage class of its source, so a claim is moved by taking a VolumeSnapshot
+ * of it and restoring the snapshot in a new claim with the same name. The
+ * snapshot is owned by the new claim so that Kubernetes removes it together
+ * with the claim.
+ * <p>
+ * New claims are created in the storage class of their tier, existing claims
+ * are moved in background when no pod uses them.
+ *
+ * @author Nikolas Falco
+ */
+public final class StorageTiering {
+    private static final Logger LOGGER = Logger.getLogger(StorageTiering.class.getName());
+
+    private static final long SNAPSHOT_TIMEOUT = Long.getLong(StorageTiering.class.getName() + ".snapshotTimeout", 600);
+    private static final long DELETE_TIMEOUT = Long.getLong(StorageTiering.class.getName() + ".deleteTimeout", 120);
+    private static final long MOVE_TIMEOUT = SNAPSHOT_TIMEOUT + 2 * DELETE_TIMEOUT;
+    private static final String SNAPSHOT_SUFFIX = "-tiering";
+
+    private StorageTiering() {
+    }
+
+    /**
+     * Returns the storage class of the tier the given job belongs to.
+     *
+     * @param jobFullName the job full name
+     * @return the storage class name or {@code null} if tiering is not
+     *         configured or the claim does not belong to a job
+     */
+    @CheckForNull
+    public static String storageClassOf(@NonNull String jobFullName) {
+        ProvisioningConfiguration config = ProvisioningConfiguration.get();
+        if (!config.isTieringEnabled()) {
+            return null;
+        }
+        Job<?, ?> job = Jenkins.get().getItemByFullName(jobFullName, Job.class);
+        if (job == null) {
+            return null;
+        }
+        return isHot(job, config.getHotBuildThreshold(), config.getTieringWindowDays()) //
+                ? config.getHotStorageClassName() //
+                : config.getColdStorageClassName();
+    }
+
+    /**
+     * Returns if the job has built at least the given number of times in the
+     * last days.
+     *
+     * @param job the job
+     * @param threshold the number of builds
+     * @param days the number of days
+     * @return {@code true} if the job builds frequently
+     */
+    static boolean isHot(@NonNull Job<?, ?> job, int threshold, int days) {
+        long since = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+        int count = 0;
+        // builds are ordered from the newest, stop as soon as possible to not load the whole history
+        for (Run<?, ?> run : job.getBuilds()) {
+            if (run.getTimeInMillis() < since) {
+                break;
+            }
+            if (++count >= threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the claims of the given namespace that have to move to the
+     * storage class of the tier their job belongs to now.
+     * <p>
+     * Only claims placed by the tiering in the hot or cold storage class are
+     * considered. A claim is moved only when it is not used by any pod, a
+     * running pod keeps the claim until it ends, and when it has been in its
+     * storage class for at least the given time, so that a job that builds
+     * around the threshold does not move back and forth.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param namespace the namespace of the claims
+     * @param minDwell the minimum time in milliseconds a claim stays in a
+     *        storage class
+     * @return the claims to move with their target storage class
+     */
+    @NonNull
+    static Map<PersistentVolumeClaim, String> getMovable(@NonNull KubernetesClient client, @NonNull String namespace, long minDwell) {
+        ProvisioningConfiguration config = ProvisioningConfiguration.get();
+        // both tiers could be the same storage class while the configuration is being changed
+        Set<String> tiers = new HashSet<>(Arrays.asList(config.getHotStorageClassName(), config.getColdStorageClassName()));
+        long since = System.currentTimeMillis() - minDwell;
+
+        Map<PersistentVolumeClaim, String> movable = new LinkedHashMap<>();
+        Set<String> inUse = null;
+        for (PersistentVolumeClaim pvc : PersistentVolumeClaimCache.list(client, namespace)) {
+            Map<String, String> labels = pvc.getMetadata().getLabels();
+            Map<String, String> annotations = pvc.getMetadata().getAnnotations();
+            String storageClassName = pvc.getSpec().getStorageClassName();
+            if (labels == null || !"true".equals(labels.get(K8sConstants.LABEL_MANAGED)) //
+                    || annotations == null || !annotations.containsKey(K8sConstants.ANNOTATION_JOB) //
+                    || annotations.containsKey(K8sConstants.ANNOTATION_MOVED_TO) //
+                    || pvc.getMetadata().getDeletionTimestamp() != null //
+                    || !tiers.contains(storageClassName)) {
+                continue;
+            }
+            String target = storageClassOf(annotations.get(K8sConstants.ANNOTATION_JOB));
+            if (target == null || target.equals(storageClassName) || minDwell > 0 && !isDwelled(pvc, since)) {
+                continue;
+            }
+            if (inUse == null) {
+                // listed only when there is something to move
+                inUse = getClaimsInUse(client, namespace);
+            }
+            if (inUse.contains(pvc.getMetadata().getName())) {
+                LOGGER.log(FINE, "PVC {0}/{1} is in use, move to {2} later", new Object[] { namespace, pvc.getMetadata().getName(), target });
+                continue;
+            }
+            movable.put(pvc, target);
+        }
+        return movable;
+    }
+
+    private static boolean isDwelled(PersistentVolumeClaim pvc, long since) {
+        // a move creates a new claim, the creation is the time the claim entered its storage class
+        String created = pvc.getMetadata().getCreationTimestamp();
+        try {
+            return created != null && Instant.parse(created).toEpochMilli() <= since;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static Set<String> getClaimsInUse(KubernetesClient client, String namespace) {
+        Set<String> claims = new HashSet<>();
+        for (Pod pod : client.pods().inNamespace(namespace).list().getItems()) {
+            String phase = pod.getStatus() != null ? pod.getStatus().getPhase() : null;
+            if ("Succeeded".equals(phase) || "Failed".equals(phase) || pod.getSpec() == null || pod.getSpec().getVolumes() == null) {
+                continue;
+            }
+            for (Volume volume : pod.getSpec().getVolumes()) {
+                if (volume.getPersistentVolumeClaim() != null) {
+                    claims.add(volume.getPersistentVolumeClaim().getClaimName());
+                }
+            }
+        }
+        return claims;
+    }
+
+    /**
+     * Moves the given claim to the given storage class keeping its data.
+     * <p>
+     * The claim is annotated as moving for the whole move, a build that needs
+     * the claim waits until the move completes. The claim is deleted only if
+     * no pod has taken it while the snapshot was in progress.
+     * <p>
+     * If the claim is taken by a pod after it has been deleted, the deletion
+     * completes only when the pod ends. The snapshot is left without owner and
+     * the claim is restored from it when it is created again.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param pvc the claim to move
+     * @param storageClassName the target storage class
+     * @return {@code true} if the claim has been moved
+     */
+    public static boolean migrate(@NonNull KubernetesClient client, @NonNull PersistentVolumeClaim pvc, @NonNull String storageClassName) {
+        String namespace = pvc.getMetadata().getNamespace();
+        String pvcName = pvc.getMetadata().getName();
+        String snapshotName = pvcName + SNAPSHOT_SUFFIX;
+
+        Resource<PersistentVolumeClaim> resource = client.persistentVolumeClaims().inNamespace(namespace).withName(pvcName);
+        try {
+            resource.edit(p -> new PersistentVolumeClaimBuilder(p) //
+                    .editMetadata() //
+                    .addToAnnotations(K8sConstants.ANNOTATION_MOVING, Instant.now().toString()) //
+                    .endMetadata() //
+                    .build());
+        } catch (KubernetesClientException e) {
+            LOGGER.log(WARNING, "Can not mark PVC " + namespace + "/" + pvcName + " as moving, keep storage class " + pvc.getSpec().getStorageClassName(), e);
+            return false;
+        }
+
+        Resource<GenericKubernetesResource> snapshotResource = getSnapshotResource(client, namespace, pvcName);
+        try {
+            // a snapshot left by a previous move
+            snapshotResource.delete();
+            snapshotResource.waitUntilCondition(Objects::isNull, DELETE_TIMEOUT, TimeUnit.SECONDS);
+
+            snapshotResource.create(new GenericKubernetesResourceBuilder() //
+                    .withApiVersion(SeedStrategy.SNAPSHOT_API_VERSION) //
+                    .withKind(SeedStrategy.SNAPSHOT_KIND) //
+                    .withNewMetadata() //
+                    .withName(snapshotName) //
+                    .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                    .endMetadata() //
+                    .addToAdditionalProperties("spec", Map.of("source", Map.of("persistentVolumeClaimName", pvcName))) //
+                    .build());
+            snapshotResource.waitUntilCondition(s -> s != null && SeedStrategy.isReadyToUse(s), SNAPSHOT_TIMEOUT, TimeUnit.SECONDS);
+        } catch (KubernetesClientException e) {
+            // also a timeout waiting the snapshot is ready
+            LOGGER.log(WARNING, "Can not snapshot PVC " + namespace + "/" + pvcName + ", keep storage class " + pvc.getSpec().getStorageClassName(), e);
+            snapshotResource.delete();
+            unmarkMoving(resource, namespace, pvcName);
+            return false;
+        }
+
+        // a pod could have started while the snapshot was taken, before the claim was marked as moving
+        if (getClaimsInUse(client, namespace).contains(pvcName)) {
+            LOGGER.log(INFO, "PVC {0}/{1} has been taken by a pod, move to {2} later", new Object[] { namespace, pvcName, storageClassName });
+            snapshotResource.delete();
+            unmarkMoving(resource, namespace, pvcName);
+            return false;
+        }
+
+        try (Context ctx = ProvisioningMetrics.PVC_DELETE.time()) {
+            resource.delete();
+            resource.waitUntilCondition(Objects::isNull, DELETE_TIMEOUT, TimeUnit.SECONDS);
+        } catch (KubernetesClientException e) {
+            // also a timeout when a pod started in the meanwhile
+            LOGGER.log(WARNING, "PVC " + namespace + "/" + pvcName + " is not deleted yet, it will be restored from snapshot " + snapshotName + " when created again", e);
+            return false;
+        }
+
+        // the restored claim is not marked as moving, it is ready to be used
+        Map<String, String> annotations = new HashMap<>();
+        Map<String, String> oldAnnotations = pvc.getMetadata().getAnnotations();
+        if (oldAnnotations != null) {
+            for (String key : new String[] { K8sConstants.ANNOTATION_JOB, K8sConstants.ANNOTATION_SHARD_OF, K8sConstants.ANNOTATION_REQUESTED_SIZE }) {
+                if (oldAnnotations.containsKey(key)) {
+                    annotations.put(key, oldAnnotations.get(key));
+                }
+            }
+        }
+        PersistentVolumeClaim claim = new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(pvcName) //
+                .withLabels(pvc.getMetadata().getLabels()) //
+                .withAnnotations(annotations) //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes(pvc.getSpec().getAccessModes()) //
+                .withNewResources() //
+                .withRequests(pvc.getSpec().getResources().getRequests()) //
+                .endResources() //
+                .withStorageClassName(storageClassName) //
+                .withVolumeMode(pvc.getSpec().getVolumeMode()) //
+                .withDataSource(toDataSource(snapshotName)) //
+                .endSpec() //
+                .build();
+        PersistentVolumeClaim restored;
+        try (Context ctx = ProvisioningMetrics.PVC_CREATE.time()) {
+            restored = client.persistentVolumeClaims().inNamespace(namespace).resource(claim).create();
+        }
+        LOGGER.log(INFO, "Moved PVC {0}/{1} from storage class {2} to {3}", new Object[] { namespace, pvcName, pvc.getSpec().getStorageClassName(), storageClassName });
+
+        bindSnapshot(client, restored);
+        return true;
+    }
+
+    private static void unmarkMoving(Resource<PersistentVolumeClaim> resource, String namespace, String pvcName) {
+        try {
+            resource.edit(p -> new PersistentVolumeClaimBuilder(p) //
+                    .editMetadata() //
+                    .removeFromAnnotations(K8sConstants.ANNOTATION_MOVING) //
+                    .endMetadata() //
+                    .build());
+        } catch (KubernetesClientException e) {
+            LOGGER.log(FINE, "Can not remove the moving mark of PVC " + namespace + "/" + pvcName, e);
+        }
+    }
+
+    /**
+     * Waits until the given claim is not moving to another storage class.
+     * <p>
+     * A mark older than the time a move can take is left by a move that has
+     * been interrupted, for example by a restart, and it is ignored.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param namespace the namespace of the claim
+     * @param pvcName the claim name
+     * @throws KubernetesClientException if the move does not complete in time
+     */
+    public static void awaitMove(@NonNull KubernetesClient client, @NonNull String namespace, @NonNull String pvcName) {
+        PersistentVolumeClaim pvc = PersistentVolumeClaimCache.get(client, namespace, pvcName);
+        long remaining = pvc != null ? getMoveRemaining(pvc) : 0;
+        if (remaining <= 0) {
+            return;
+        }
+        LOGGER.log(INFO, "PVC {0}/{1} is moving to another storage class, wait the move completes", new Object[] { namespace, pvcName });
+        Resource<PersistentVolumeClaim> resource = client.persistentVolumeClaims().inNamespace(namespace).withName(pvcName);
+        try {
+            // the claim is deleted and restored with the same name during the move
+            resource.waitUntilCondition(p -> p != null && getMoveRemaining(p) <= 0, remaining, TimeUnit.MILLISECONDS);
+        } catch (KubernetesClientTimeoutException e) {
+            if (resource.get() != null) {
+                throw new KubernetesClientException(Messages.StorageTiering_moveTimeout(namespace, pvcName, MOVE_TIMEOUT), e);
+            }
+            // the move has been interrupted after the claim was deleted, it is restored from the snapshot
+        }
+    }
+
+    private static long getMoveRemaining(PersistentVolumeClaim pvc) {
+        Map<String, String> annotations = pvc.getMetadata().getAnnotations();
+        String since = annotations != null ? annotations.get(K8sConstants.ANNOTATION_MOVING) : null;
+        if (since == null) {
+            return 0;
+        }
+        try {
+            return Instant.parse(since).toEpochMilli() + TimeUnit.SECONDS.toMillis(MOVE_TIMEOUT) - System.currentTimeMillis();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the snapshot of a move of the given claim that has not been
+     * completed.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param namespace the namespace of the claim
+     * @param pvcName the claim name
+     * @return the data source of the claim or {@code null} if there is no
+     *         move to complete
+     */
+    @CheckForNull
+    public static TypedLocalObjectReference getInterruptedMove(@NonNull KubernetesClient client, @NonNull String namespace, @NonNull String pvcName) {
+        GenericKubernetesResource snapshot;
+        try {
+            snapshot = getSnapshotResource(client, namespace, pvcName).get();
+        } catch (KubernetesClientException e) {
+            // VolumeSnapshot API not installed
+            LOGGER.log(FINE, "Can not get tiering snapshot of PVC " + namespace + "/" + pvcName, e);
+            return null;
+        }
+        if (snapshot == null || !SeedStrategy.isReadyToUse(snapshot) //
+                || snapshot.getMetadata().getOwnerReferences() != null && !snapshot.getMetadata().getOwnerReferences().isEmpty()) {
+            // the snapshot of a completed move is owned by the claim restored from it
+            return null;
+        }
+        return toDataSource(snapshot.getMetadata().getName());
+    }
+
+    /**
+     * Makes the tiering snapshot of the given claim owned by it, so that
+     * Kubernetes removes the snapshot together with the claim.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param pvc the claim restored from the snapshot
+     */
+    public static void bindSnapshot(@NonNull KubernetesClient client, @NonNull PersistentVolumeClaim pvc) {
+        String namespace = pvc.getMetadata().getNamespace();
+        String pvcName = pvc.getMetadata().getName();
+        try {
+            // the restore could happen later with WaitForFirstConsumer storage classes
+            getSnapshotResource(client, namespace, pvcName).edit(s -> new GenericKubernetesResourceBuilder(s) //
+                    .editMetadata() //
+                    .withOwnerReferences(new OwnerReferenceBuilder() //
+                            .withApiVersion("v1") //
+                            .withKind("PersistentVolumeClaim") //
+                            .withName(pvcName) //
+                            .withUid(pvc.getMetadata().getUid()) //
+                            .build()) //
+                    .endMetadata() //
+                    .build());
+        } catch (KubernetesClientException e) {
+            LOGGER.log(FINE, "Can not bind snapshot " + namespace + "/" + pvcName + SNAPSHOT_SUFFIX + " to its PVC", e);
+        }
+    }
+
+    private static Resource<GenericKubernetesResource> getSnapshotResource(KubernetesClient client, String namespace, String pvcName) {
+        return client.genericKubernetesResources(SeedStrategy.SNAPSHOT_API_VERSION, SeedStrategy.SNAPSHOT_KIND) //
+                .inNamespace(namespace) //
+                .withName(pvcName + SNAPSHOT_SUFFIX);
+    }
+
+    private static TypedLocalObjectReference toDataSource(String snapshotName) {
+        return new TypedLocalObjectReferenceBuilder() //
+                .withApiGroup(SeedStrategy.SNAPSHOT_API_GROUP) //
+                .withKind(SeedStrategy.SNAPSHOT_KIND) //
+                .withName(snapshotName) //
+                .build();
+    }
+
+    /**
+     * Moves the claims that are not in use to the storage class of the tier
+     * their job belongs to now.
+     */
+    @Extension
+    public static class Mover extends AsyncPeriodicWork {
+
+        private static final long RECURRENCE_PERIOD = Long.getLong(StorageTiering.class.getName() + ".recurrencePeriod", TimeUnit.HOURS.toMillis(1));
+
+        public Mover() {
+            super("PVC storage tiering");
+        }
+
+        @Override
+        public long getRecurrencePeriod() {
+            return RECURRENCE_PERIOD;
+        }
+
+        @Override
+        protected void execute(TaskListener listener) throws IOException, InterruptedException {
+            ProvisioningConfiguration config = ProvisioningConfiguration.get();
+            if (!config.isTieringEnabled()) {
+                return;
+            }
+            long minDwell = TimeUnit.DAYS.toMillis(config.getTieringWindowDays());
+            for (KubernetesCloud cloud : Jenkins.get().clouds.getAll(KubernetesCloud.class)) {
+                try {
+                    KubernetesClient client = cloud.connect();
+                    for (Map.Entry<PersistentVolumeClaim, String> entry : getMovable(client, client.getNamespace(), minDwell).entrySet()) {
+                        PersistentVolumeClaim pvc = entry.getKey();
+                        listener.getLogger().println("Move PVC " + pvc.getMetadata().getNamespace() + "/" + pvc.getMetadata().getName() + " to storage class " + entry.getValue());
+                        migrate(client, pvc, entry.getValue());
+                    }
+                } catch (KubernetesAuthException | IOException | KubernetesClientException e) {
+                    LOGGER.log(WARNING, "Can not move PVC of cloud " + cloud.name, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static com.github.nfalco79.jenkins.plugins.k8s.K8sConstants.LABEL_POOL;
+import static com.github.nfalco79.jenkins.plugins.k8s.K8sConstants.LABEL_POOL_STATE;
+import static com.github.nfalco79.jenkins.plugins.k8s.K8sConstants.POOL_STATE_AVAILABLE;
+import static com.github.nfalco79.jenkins.plugins.k8s.K8sConstants.POOL_STATE_CLAIMED;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+import static java.util.logging.Level.WARNING;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud;
+import org.csanchez.jenkins.plugins.kubernetes.volumes.DynamicPVC;
+import org.jenkinsci.plugins.kubernetes.auth.KubernetesAuthException;
+
+import com.codahale.metrics.Timer.Context;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import io.fabric8.kubernetes.api.model.PersistentVolume;
+import io.fabric8.kubernetes.api.model.PersistentVolumeBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.KubernetesClientTimeoutException;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import jenkins.model.Jenkins;
+
+/**
+ * Manages the warm pools of pre-provisioned persistent volume claims.
+ * <p>
+ * Claim names can not be changed and the agent pod refers to the job claim by
+ * name, so a pool claim is adopted handing its bound persistent volume over to
+ * a new claim with the job name.
+ *
+ * @author Nikolas Falco
+ */
+public final class WarmPool {
+    private static final Logger LOGGER = Logger.getLogger(WarmPool.class.getName());
+
+    private static final String POOL_CLAIM_PREFIX = "pvc-pool-";
+    private static final String RECLAIM_POLICY_RETAIN = "Retain";
+    private static final long TIMEOUT = Long.getLong(WarmPool.class.getName() + ".timeout", 30);
+
+    private static final ConcurrentMap<String, AtomicLong> HITS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, AtomicLong> MISSES = new ConcurrentHashMap<>();
+    // pool keys already reported as not usable
+    private static final Set<String> DELAYED_BINDING = ConcurrentHashMap.newKeySet();
+
+    private WarmPool() {
+    }
+
+    public static long getHits(@NonNull String poolKey) {
+        AtomicLong counter = HITS.get(poolKey);
+        return counter == null ? 0 : counter.get();
+    }
+
+    public static long getMisses(@NonNull String poolKey) {
+        AtomicLong counter = MISSES.get(poolKey);
+        return counter == null ? 0 : counter.get();
+    }
+
+    @CheckForNull
+    private static WarmPoolTemplate findTemplate(@NonNull String poolKey) {
+        return ProvisioningConfiguration.get().getWarmPools().stream() //
+                .filter(t -> t.getSize() > 0 && poolKey.equals(t.getKey())) //
+                .findFirst() //
+                .orElse(null);
+    }
+
+    /**
+     * Adopts the volume of an available pool claim that matches the given
+     * request.
+     *
+     * @param client the client used to contact the Kubernetes cluster
+     * @param namespace the namespace of the claim
+     * @param claim the job claim to create
+     * @param volume the requested volume characteristics
+     * @return the created job claim bound to the pool volume or {@code null} if
+     *         no pool is configured or available
+     */
+    @CheckForNull
+    public static PersistentVolumeClaim adopt(@NonNull KubernetesClient client,
+                                              @NonNull String namespace,
+                                              @NonNull PersistentVolumeClaim claim,
+                                              @NonNull DynamicPVC volume) {
+        String poolKey = WarmPoolTemplate.keyOf(volume);
+        if (findTemplate(poolKey) == null) {
+            return null;
+        }
+        // the informer could be stale, a volume handed over to an existing claim would be orphaned
+        if (client.persistentVolumeClaims().inNamespace(namespace).withName(claim.getMetadata().getName()).get() != null) {
+            LOGGER.log(FINE, "PVC {0}/{1} already exists, skip the warm pool", new Object[] { namespace, claim.getMetadata().getName() });
+            return null;
+        }
+
+        List<PersistentVolumeClaim> candidates = PersistentVolumeClaimCache.list(client, namespace).stream() //
+                .filter(pvc -> isAvailable(pvc, poolKey)) //
+                .toList();
+        for (PersistentVolumeClaim candidate : candidates) {
+            PersistentVolumeClaim reserved = reserve(client, namespace, candidate);
+            if (reserved != null) {
+                try {
+                    PersistentVolumeClaim pvc = handOver(client, namespace, reserved, claim);
+                    HITS.computeIfAbsent(poolKey, k -> new AtomicLong()).incrementAndGet();
+                    ProvisioningMetrics.POOL_HIT.inc();
+                    return pvc;
+                } catch (KubernetesClientException e) {
+                    LOGGER.log(WARNING, "Can not adopt pool PVC " + namespace + "/" + reserved.getMetadata().getName(), e);
+                    break;
+                }
+            }
+        }
+        MISSES.computeIfAbsent(poolKey, k -> new AtomicLong()).incrementAndGet();
+        ProvisioningMetrics.POOL_MISS.inc();
+        return null;
+    }
+
+    private static boolean isAvailable(PersistentVolumeClaim pvc, String poolKey) {
+        Map<String, String> labels = pvc.getMetadata().getLabels();
+        return labels != null //
+                && poolKey.equals(labels.get(LABEL_POOL)) //
+                && POOL_STATE_AVAILABLE.equals(labels.get(LABEL_POOL_STATE)) //
+                && pvc.getMetadata().getDeletionTimestamp() == null //
+                && pvc.getStatus() != null //
+                && "Bound".equals(pvc.getStatus().getPhase());
+    }
+
+    /*
+     * Marks the pool claim as claimed. The update fails with a conflict if
+     * someone else has changed the claim since it was read, so two concurrent
+     * provisioning can not adopt the same volume.
+     */
+    @CheckForNull
+    private static PersistentVolumeClaim reserve(KubernetesClient client, String namespace, PersistentVolumeClaim candidate) {
+        PersistentVolumeClaim reserved = new PersistentVolumeClaimBuilder(candidate) //
+                .editMetadata() //
+                .addToLabels(LABEL_POOL_STATE, POOL_STATE_CLAIMED) //
+                .endMetadata() //
+                .build();
+        try {
+            return client.persistentVolumeClaims().inNamespace(namespace).resource(reserved).update();
+        } catch (KubernetesClientException e) {
+            if (e.getCode() != HttpURLConnection.HTTP_CONFLICT && e.getCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+                throw e;
+            }
+            LOGGER.log(FINE, "Pool PVC {0}/{1} has been taken by someone else", new Object[] { namespace, candidate.getMetadata().getName() });
+            return null;
+        }
+    }
+
+    /*
+     * Hands the volume of the reserved pool claim over to the job claim. On
+     * failure the steps already done are reverted, so that the volume goes
+     * back to the pool or at least is not left retained by nobody.
+     */
+    private static PersistentVolumeClaim handOver(KubernetesClient client, String namespace, PersistentVolumeClaim poolClaim, PersistentVolumeClaim claim) {
+        String pvName = poolClaim.getSpec().getVolumeName();
+        Resource<PersistentVolume> pvResource = client.persistentVolumes().withName(pvName);
+        Resource<PersistentVolumeClaim> poolResource = client.persistentVolumeClaims().inNamespace(namespace).withName(poolClaim.getMetadata().getName());
+        String claimName = claim.getMetadata().getName();
+
+        String reclaimPolicy = null;
+        boolean released = false;
+        PersistentVolumeClaim pvc;
+        try {
+            // retain the volume, otherwise it is deleted together with the pool claim
+            reclaimPolicy = pvResource.require().getSpec().getPersistentVolumeReclaimPolicy();
+            pvResource.edit(pv -> new PersistentVolumeBuilder(pv) //
+                    .editSpec() //
+                    .withPersistentVolumeReclaimPolicy(RECLAIM_POLICY_RETAIN) //
+                    .endSpec() //
+                    .build());
+
+            poolResource.delete();
+            released = true;
+            poolResource.waitUntilCondition(Objects::isNull, TIMEOUT, TimeUnit.SECONDS);
+
+            // pre-bind the released volume to the job claim
+            pvResource.edit(pv -> new PersistentVolumeBuilder(pv) //
+                    .editSpec() //
+                    .withNewClaimRef() //
+                    .withNamespace(namespace) //
+                    .withName(claimName) //
+                    .endClaimRef() //
+                    .endSpec() //
+                    .build());
+
+            pvc = client.persistentVolumeClaims().inNamespace(namespace).resource(new PersistentVolumeClaimBuilder(claim) //
+                    .editSpec() //
+                    .withVolumeName(pvName) //
+                    .endSpec() //
+                    .build()).create();
+        } catch (KubernetesClientException e) {
+            rollback(client, namespace, poolClaim, reclaimPolicy, released);
+            throw e;
+        }
+        LOGGER.log(INFO, "Adopted volume {0} of pool PVC {1} for PVC {2}/{3}", new Object[] { pvName, poolClaim.getMetadata().getName(), namespace, claimName });
+
+        if (!RECLAIM_POLICY_RETAIN.equals(reclaimPolicy)) {
+            String policy = reclaimPolicy;
+            try (Context ctx = ProvisioningMetrics.PVC_BOUND.time()) {
+                client.persistentVolumeClaims().inNamespace(namespace).withName(claimName) //
+                        .waitUntilCondition(p -> p != null && p.getStatus() != null && "Bound".equals(p.getStatus().getPhase()), TIMEOUT, TimeUnit.SECONDS);
+                pvResource.edit(pv -> new PersistentVolumeBuilder(pv) //
+                        .editSpec() //
+                        .withPersistentVolumeReclaimPolicy(policy) //
+                        .endSpec() //
+                        .build());
+            } catch (KubernetesClientTimeoutException e) {
+                LOGGER.log(WARNING, "PVC {0}/{1} is not yet bound, the volume {2} keeps the Retain reclaim policy", new Object[] { namespace, claimName, pvName });
+            }
+        }
+        return pvc;
+    }
+
+    /*
+     * Reverts a failed hand over. A pool claim not yet deleted goes back
+     * available, otherwise its released volume is unbound so that it can be
+     * bound again. The reclaim policy is restored last, a released volume
+     * with the Delete policy would be deleted by Kubernetes.
+     */
+    private static void rollback(KubernetesClient client, String namespace, PersistentVolumeClaim poolClaim, @CheckForNull String reclaimPolicy, boolean released) {
+        String poolClaimName = poolClaim.getMetadata().getName();
+        String pvName = poolClaim.getSpec().getVolumeName();
+        Resource<PersistentVolume> pvResource = client.persistentVolumes().withName(pvName);
+        try {
+            if (!released) {
+                client.persistentVolumeClaims().inNamespace(namespace).withName(poolClaimName).edit(pvc -> new PersistentVolumeClaimBuilder(pvc) //
+                        .editMetadata() //
+                        .addToLabels(LABEL_POOL_STATE, POOL_STATE_AVAILABLE) //
+                        .endMetadata() //
+                        .build());
+            } else {
+                pvResource.edit(pv -> new PersistentVolumeBuilder(pv) //
+                        .editSpec() //
+                        .withClaimRef(null) //
+                        .endSpec() //
+                        .build());
+            }
+            if (reclaimPolicy != null && !RECLAIM_POLICY_RETAIN.equals(reclaimPolicy)) {
+                pvResource.edit(pv -> new PersistentVolumeBuilder(pv) //
+                        .editSpec() //
+                        .withPersistentVolumeReclaimPolicy(reclaimPolicy) //
+                        .endSpec() //
+                        .build());
+            }
+            LOGGER.log(FINE, "Rolled back the hand over of pool PVC {0}/{1}", new Object[] { namespace, poolClaimName });
+        } catch (KubernetesClientException e) {
+            LOGGER.log(WARNING, "Can not roll back the hand over of pool PVC " + namespace + "/" + poolClaimName + ", volume " + pvName + " needs a manual check", e);
+        }
+    }
+
+    /*
+     * Tops the pool up to its size. Returns false if the pool can not be
+     * used, claims of a storage class that binds them only for a consumer pod
+     * would never get a volume to hand over.
+     */
+    private static boolean refill(KubernetesClient client, WarmPoolTemplate template) {
+        String namespace = client.getNamespace();
+        String poolKey = template.getKey();
+        if (PVCUtil.isDelayedBinding(PVCUtil.getStorageClass(client, template.getStorageClassNameOrDefault()))) {
+            if (DELAYED_BINDING.add(poolKey)) {
+                LOGGER.log(WARNING, "Warm pool of cloud {0} is disabled, storage class {1} binds claims only when a pod uses them (WaitForFirstConsumer)", new Object[] { template.getCloudName(), template.getStorageClassNameOrDefault() });
+            }
+            return false;
+        }
+        DELAYED_BINDING.remove(poolKey);
+
+        long size = PersistentVolumeClaimCache.list(client, namespace).stream() //
+                .filter(pvc -> {
+                    Map<String, String> labels = pvc.getMetadata().getLabels();
+                    return labels != null && poolKey.equals(labels.get(LABEL_POOL)) && POOL_STATE_AVAILABLE.equals(labels.get(LABEL_POOL_STATE));
+                }) //
+                .count();
+        for (long i = size; i < template.getSize(); i++) {
+            PersistentVolumeClaim pvc = new PersistentVolumeClaimBuilder() //
+                    .withNewMetadata() //
+                    .withGenerateName(POOL_CLAIM_PREFIX) //
+                    .addToLabels(LABEL_POOL, poolKey) //
+                    .addToLabels(LABEL_POOL_STATE, POOL_STATE_AVAILABLE) //
+                    .endMetadata() //
+                    .withNewSpec() //
+                    .withAccessModes(template.getAccessModesOrDefault()) //
+                    .withNewResources() //
+                    .withRequests(template.getResourceMap()) //
+                    .endResources() //
+                    .withStorageClassName(template.getStorageClassNameOrDefault()) //
+                    .endSpec() //
+                    .build();
+            pvc = client.persistentVolumeClaims().inNamespace(namespace).resource(pvc).create();
+            LOGGER.log(FINE, "Created pool PVC: {0}/{1}", new Object[] { namespace, pvc.getMetadata().getName() });
+        }
+        return true;
+    }
+
+    /*
+     * Deletes the available claims of pools that are not configured or not
+     * usable anymore. Claimed ones are in the middle of a hand over.
+     */
+    private static void drain(KubernetesClient client, Set<String> poolKeys) {
+        String namespace = client.getNamespace();
+        for (PersistentVolumeClaim pvc : PersistentVolumeClaimCache.list(client, namespace)) {
+            Map<String, String> labels = pvc.getMetadata().getLabels();
+            String poolKey = labels != null ? labels.get(LABEL_POOL) : null;
+            if (poolKey != null && !poolKeys.contains(poolKey) //
+                    && POOL_STATE_AVAILABLE.equals(labels.get(LABEL_POOL_STATE)) //
+                    && pvc.getMetadata().getDeletionTimestamp() == null) {
+                client.persistentVolumeClaims().inNamespace(namespace).withName(pvc.getMetadata().getName()).delete();
+                LOGGER.log(INFO, "Removed PVC {0}/{1} of a warm pool no longer configured", new Object[] { namespace, pvc.getMetadata().getName() });
+            }
+        }
+    }
+
+    /**
+     * Tops the warm pools back up to the configured size and removes the
+     * claims of the pools no longer configured.
+     */
+    @Extension
+    public static class Refiller extends AsyncPeriodicWork {
+
+        private static final long RECURRENCE_PERIOD = Long.getLong(WarmPool.class.getName() + ".refillPeriod", TimeUnit.MINUTES.toMillis(1));
+
+        public Refiller() {
+            super("Warm pool PVC refiller");
+        }
+
+        @Override
+        public long getRecurrencePeriod() {
+            return RECURRENCE_PERIOD;
+        }
+
+        @Override
+        protected void execute(TaskListener listener) throws IOException, InterruptedException {
+            // cloud name -> keys of the pools in use
+            Map<String, Set<String>> poolKeys = new HashMap<>();
+            for (WarmPoolTemplate template : ProvisioningConfiguration.get().getWarmPools()) {
+                if (template.getSize() <= 0) {
+                    continue;
+                }
+                KubernetesCloud cloud = Jenkins.get().clouds.getAll(KubernetesCloud.class).stream() //
+                        .filter(c -> c.name.equals(template.getCloudName())) //
+                        .findFirst() //
+                        .orElse(null);
+                if (cloud == null) {
+                    LOGGER.log(WARNING, "Cloud {0} of warm pool not found", template.getCloudName());
+                    continue;
+                }
+                // kept also when the refill fails, its claims are still good
+                Set<String> keys = poolKeys.computeIfAbsent(cloud.name, k -> new HashSet<>());
+                keys.add(template.getKey());
+                try {
+                    if (!refill(cloud.connect(), template)) {
+                        keys.remove(template.getKey());
+                    }
+                } catch (KubernetesAuthException | IOException | KubernetesClientException e) {
+                    LOGGER.log(WARNING, "Can not refill warm pool of cloud " + template.getCloudName(), e);
+                }
+            }
+
+            for (KubernetesCloud cloud : Jenkins.get().clouds.getAll(KubernetesCloud.class)) {
+                try {
+                    drain(cloud.connect(), poolKeys.getOrDefault(cloud.name, Set.of()));
+                } catch (KubernetesAuthException | IOException | KubernetesClientException e) {
+                    LOGGER.log(WARNING, "Can not remove unused warm pool PVC of cloud " + cloud.name, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import java.util.Objects;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud;
+import org.csanchez.jenkins.plugins.kubernetes.volumes.DynamicPVC;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.DoNotUse;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+import io.fabric8.kubernetes.api.model.Quantity;
+import jenkins.model.Jenkins;
+
+/**
+ * Describes a pool of unclaimed persistent volume claims kept ready for the
+ * jobs that request the same storage class, size and access mode.
+ *
+ * @author Nikolas Falco
+ */
+public class WarmPoolTemplate extends AbstractDescribableImpl<WarmPoolTemplate> implements DynamicPVC {
+
+    private final String cloudName;
+    private final String storageClassName;
+    private final String requestsSize;
+    private final String accessModes;
+    private final int size;
+
+    @DataBoundConstructor
+    public WarmPoolTemplate(@NonNull String cloudName,
+                            String storageClassName,
+                            @NonNull String requestsSize,
+                            String accessModes,
+                            int size) {
+        this.cloudName = cloudName;
+        this.storageClassName = Util.fixEmptyAndTrim(storageClassName);
+        this.requestsSize = requestsSize;
+        this.accessModes = accessModes;
+        this.size = size;
+    }
+
+    public String getCloudName() {
+        return cloudName;
+    }
+
+    @Override
+    @CheckForNull
+    public String getStorageClassName() {
+        return storageClassName;
+    }
+
+    @Override
+    @CheckForNull
+    public String getRequestsSize() {
+        return requestsSize;
+    }
+
+    @Override
+    @CheckForNull
+    public String getAccessModes() {
+        return accessModes;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the value of the pool label for claims with the given
+     * characteristics.
+     *
+     * @param volume the requested volume
+     * @return the pool key
+     */
+    @NonNull
+    public static String keyOf(@NonNull DynamicPVC volume) {
+        String storageClass = Objects.toString(volume.getStorageClassNameOrDefault(), "");
+        String storage = Quantity.parse(volume.getRequestsSizeOrDefault()).getNumericalAmount().toBigInteger().toString();
+        return Util.getDigestOf(storageClass + '|' + storage + '|' + volume.getAccessModesOrDefault());
+    }
+
+    @NonNull
+    public String getKey() {
+        return keyOf(this);
+    }
+
+    public long getHits() {
+        return WarmPool.getHits(getKey());
+    }
+
+    public long getMisses() {
+        return WarmPool.getMisses(getKey());
+    }
+
+    @Extension
+    public static class DescriptorImpl extends Descriptor<WarmPoolTemplate> {
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.WarmPoolTemplate_displayName();
+        }
+
+        @RequirePOST
+        @Restricted(DoNotUse.class) // stapler only
+        public ListBoxModel doFillCloudNameItems() {
+            Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+            ListBoxModel items = new ListBoxModel();
+            Jenkins.get().clouds.getAll(KubernetesCloud.class).forEach(cloud -> items.add(cloud.name));
+            return items;
+        }
+
+        @RequirePOST
+        @Restricted(DoNotUse.class) // stapler only
+        public ListBoxModel doFillAccessModesItems() {
+            return PVCFormValidation.getAccessModes();
+        }
+
+        @Restricted(DoNotUse.class) // stapler only
+        public FormValidation doCheckRequestsSize(@QueryParameter String value) {
+            return PVCFormValidation.checkRequestsSize(value);
+        }
+
+        @Restricted(DoNotUse.class) // stapler only
+        public FormValidation doCheckStorageClassName(@QueryParameter String value) {
+            return PVCFormValidation.checkStorageClassName(value);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s.tools;
+
+import java.util.Locale;
+import java.util.Map;
+
+import com.github.nfalco79.jenkins.plugins.k8s.Messages;
+
+import hudson.model.Node;
+
+/**
+ * Supported CPU architecture.
+ *
+ * @author Nikolas Falco
+ */
+public enum CPU {
+    AMD64("amd64"), ARM64("arm64"), PPC64LE("ppc64le"), S390X("s390x");
+
+    /**
+     * The architecture name used by Kubernetes release artifacts.
+     */
+    public final String arch;
+
+    CPU(String arch) {
+        this.arch = arch;
+    }
+
+    /**
+     * Determines the CPU architecture of the given node.
+     *
+     * @param node
+     *            the computer node
+     * @return a CPU value that represent the given node
+     * @throws DetectionFailedException
+     *             when the current CPU node is not supported.
+     */
+    public static CPU of(Node node) throws DetectionFailedException {
+        return detect(SystemTools.getSystemProperties(node));
+    }
+
+    public static CPU current() throws DetectionFailedException {
+        return detect(System.getProperties());
+    }
+
+    static CPU detect(Map<Object, Object> systemProperties) throws DetectionFailedException {
+        String arch = ((String) systemProperties.get("os.arch")).toLowerCase(Locale.ENGLISH);
+        switch (arch) {
+        case "amd64":
+        case "x86_64":
+            return AMD64;
+        case "aarch64":
+        case "arm64":
+            return ARM64;
+        case "ppc64le":
+            return PPC64LE;
+        case "s390x":
+            return S390X;
+        default:
+            throw new DetectionFailedException(Messages.CPU_unknown(arch));
+        }
+    }
+}
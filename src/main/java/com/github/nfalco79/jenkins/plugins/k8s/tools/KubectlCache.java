@@ -0,0 +1,371 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s.tools;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import com.github.nfalco79.jenkins.plugins.k8s.ProvisioningConfiguration;
+import com.github.nfalco79.jenkins.plugins.k8s.ProvisioningMetrics;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Saveable;
+import hudson.model.TaskListener;
+import jenkins.model.Jenkins;
+
+/**
+ * Controller cache of the kubectl binaries.
+ * <p>
+ * Entries are stored by the SHA-256 checksum of the binary, an index maps each
+ * download URL, that identifies release, OS and CPU architecture, to the
+ * checksum of its binary.
+ * <p>
+ * The cache is bounded by the size configured in
+ * {@link ProvisioningConfiguration}, the least recently used entries are
+ * evicted when a new one is stored and periodically by a sweeper.
+ *
+ * @author Nikolas Falco
+ */
+public final class KubectlCache implements Saveable {
+    private static final Logger LOGGER = Logger.getLogger(KubectlCache.class.getName());
+
+    private static final long MB = 1024L * 1024;
+    private static final long MIN_AGE = Long.getLong(KubectlCache.class.getName() + ".minAge", TimeUnit.MINUTES.toMillis(10));
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private static final KubectlCache INSTANCE = new KubectlCache();
+
+    /**
+     * download URL -&gt; SHA-256 of the binary.
+     */
+    private Map<String, String> index = new HashMap<>();
+    /**
+     * SHA-256 of the binary -&gt; last time it has been used.
+     */
+    private Map<String, Long> lastAccess = new HashMap<>();
+
+    private transient boolean loaded;
+    private final transient ConcurrentMap<String, Object> downloadLocks = new ConcurrentHashMap<>();
+
+    private KubectlCache() {
+    }
+
+    @NonNull
+    public static KubectlCache get() {
+        return INSTANCE;
+    }
+
+    private File getRootDir() {
+        return new File(new File(Jenkins.get().getRootDir(), "caches"), "k8s-provisioning");
+    }
+
+    private XmlFile getConfigFile() {
+        return new XmlFile(Jenkins.XSTREAM2, new File(getRootDir(), "index.xml"));
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        XmlFile file = getConfigFile();
+        if (file.exists()) {
+            try {
+                file.unmarshal(this);
+            } catch (IOException e) {
+                LOGGER.log(WARNING, "Failed to load " + file, e);
+            }
+        }
+        if (index == null) {
+            index = new HashMap<>();
+        }
+        if (lastAccess == null) {
+            lastAccess = new HashMap<>();
+        }
+    }
+
+    @Override
+    public synchronized void save() {
+        try {
+            getConfigFile().write(this);
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Failed to save kubectl cache index", e);
+        }
+    }
+
+    /**
+     * Returns the cache entry of the binary downloaded from the given URL.
+     *
+     * @param url the download URL
+     * @return the cache entry or {@code null} if the binary is not cached
+     */
+    @CheckForNull
+    public synchronized File lookup(@NonNull String url) {
+        load();
+        String digest = index.get(url);
+        File entry = digest != null ? lookupByDigest(digest) : null;
+        if (entry != null) {
+            ProvisioningMetrics.KUBECTL_CACHE_HIT.inc();
+            // persisted by the sweeper, losing some access time on restart is harmless
+            lastAccess.put(digest, System.currentTimeMillis());
+        } else {
+            ProvisioningMetrics.KUBECTL_CACHE_MISS.inc();
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the cache entry of the binary with the given checksum.
+     *
+     * @param digest the SHA-256 of the binary
+     * @return the cache entry or {@code null} if the binary is not cached
+     */
+    @CheckForNull
+    public synchronized File lookupByDigest(@NonNull String digest) {
+        File entry = getEntryFile(digest);
+        return entry.isFile() ? entry : null;
+    }
+
+    /**
+     * Returns where download the binary with the given checksum, a partial
+     * file left there by a failed download is resumed. The file is shared by
+     * all installs of the binary, use it holding the
+     * {@link #getDownloadLock(String) download lock}.
+     *
+     * @param digest the SHA-256 of the binary
+     * @return the download file
+     */
+    @NonNull
+    public Path getDownloadFile(@NonNull String digest) {
+        return new File(new File(getRootDir(), "downloads"), digest).toPath();
+    }
+
+    /**
+     * Returns the lock that installs of the binary with the given checksum
+     * hold to download and store it, so that only one of them downloads it
+     * and the others find it in the cache.
+     *
+     * @param digest the SHA-256 of the binary
+     * @return the download lock
+     */
+    @NonNull
+    public Object getDownloadLock(@NonNull String digest) {
+        // few binaries per release, there is no need to evict the locks
+        return downloadLocks.computeIfAbsent(digest, d -> new Object());
+    }
+
+    /**
+     * Creates a file where download the binary with the given checksum that
+     * is not shared with other installs.
+     *
+     * @param digest the SHA-256 of the binary
+     * @return a new empty file
+     * @throws IOException in case of failure creating the file
+     */
+    @NonNull
+    public Path createTemporaryFile(@NonNull String digest) throws IOException {
+        // in the downloads folder so that the sweeper removes the files left by a crash
+        Path downloads = getDownloadFile(digest).getParent();
+        Files.createDirectories(downloads);
+        return Files.createTempFile(downloads, digest + "-", ".tmp");
+    }
+
+    private File getEntryFile(String digest) {
+        return new File(new File(getRootDir(), "sha256"), digest);
+    }
+
+    /**
+     * Returns the SHA-256 of the binary in the given cache entry.
+     *
+     * @param entry the cache entry
+     * @return the lower case hex digest
+     */
+    @NonNull
+    public static String digestOf(@NonNull File entry) {
+        // entries are named by the checksum of their content
+        return entry.getName();
+    }
+
+    /**
+     * Maps the given URL to an already cached binary.
+     *
+     * @param url the download URL
+     * @param digest the SHA-256 of the binary
+     */
+    public synchronized void link(@NonNull String url, @NonNull String digest) {
+        load();
+        index.put(url, digest);
+        lastAccess.put(digest, System.currentTimeMillis());
+        save();
+    }
+
+    /**
+     * Stores the given verified binary in the cache.
+     *
+     * @param url the download URL
+     * @param digest the SHA-256 of the binary
+     * @param binary the binary file, it is moved into the cache
+     * @return the cache entry
+     * @throws IOException in case of failure writing the cache entry
+     */
+    @NonNull
+    public File put(@NonNull String url, @NonNull String digest, @NonNull Path binary) throws IOException {
+        File entry = getEntryFile(digest);
+        Path parent = entry.toPath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // downloads are in the same file system, the entry appears complete or not at all
+        Files.move(binary, entry.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        link(url, digest);
+        sweep(ProvisioningConfiguration.get().getToolCacheMaxSize() * MB);
+        return entry;
+    }
+
+    /**
+     * Evicts the least recently used entries until the cache fits the given
+     * size. Entries used in the last minutes are kept, they could be in use
+     * by an install.
+     *
+     * @param maxSize the maximum size in bytes, 0 means unlimited
+     */
+    public synchronized void sweep(long maxSize) {
+        load();
+        File[] files = new File(getRootDir(), "sha256").listFiles();
+        List<File> entries = new ArrayList<>();
+        long size = 0;
+        if (files != null) {
+            for (File file : files) {
+                if (!file.isFile() || !SHA256.matcher(file.getName()).matches()) {
+                    // temporary or of an older cache layout
+                    deleteQuietly(file);
+                    continue;
+                }
+                entries.add(file);
+                size += file.length();
+            }
+        }
+
+        if (maxSize > 0 && size > maxSize) {
+            long now = System.currentTimeMillis();
+            entries.sort(Comparator.comparingLong(this::getLastAccess));
+            for (File entry : entries) {
+                if (size <= maxSize || now - getLastAccess(entry) < MIN_AGE) {
+                    break;
+                }
+                long length = entry.length();
+                if (deleteQuietly(entry)) {
+                    size -= length;
+                    ProvisioningMetrics.KUBECTL_CACHE_EVICT.inc();
+                    LOGGER.log(FINE, "Evicted kubectl cache entry {0}", entry.getName());
+                }
+            }
+        }
+        ProvisioningMetrics.KUBECTL_CACHE_SIZE.set(size);
+
+        // forget entries that do not exist anymore
+        Set<String> cached = new HashSet<>();
+        for (File entry : entries) {
+            if (entry.exists()) {
+                cached.add(entry.getName());
+            }
+        }
+        index.values().retainAll(cached);
+        lastAccess.keySet().retainAll(cached);
+        save();
+    }
+
+    private long getLastAccess(File entry) {
+        Long time = lastAccess.get(entry.getName());
+        return time != null ? time : entry.lastModified();
+    }
+
+    private boolean deleteQuietly(File file) {
+        try {
+            Util.deleteRecursive(file);
+            return true;
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Can not delete kubectl cache entry " + file, e);
+            return false;
+        }
+    }
+
+    /**
+     * Keeps the cache under the configured size and removes partial downloads
+     * abandoned for a long time.
+     */
+    @Extension
+    public static class Sweeper extends AsyncPeriodicWork {
+
+        private static final long RECURRENCE_PERIOD = Long.getLong(KubectlCache.class.getName() + ".sweepPeriod", TimeUnit.HOURS.toMillis(1));
+        private static final Set<String> LAYOUT = Set.of("sha256", "downloads", "index.xml");
+
+        public Sweeper() {
+            super("kubectl cache sweeper");
+        }
+
+        @Override
+        public long getRecurrencePeriod() {
+            return RECURRENCE_PERIOD;
+        }
+
+        @Override
+        protected void execute(TaskListener listener) throws IOException, InterruptedException {
+            KubectlCache cache = KubectlCache.get();
+            File[] files = cache.getRootDir().listFiles((dir, name) -> !LAYOUT.contains(name));
+            if (files != null) {
+                // per platform archives of an older cache layout
+                for (File file : files) {
+                    cache.deleteQuietly(file);
+                }
+            }
+            File[] downloads = new File(cache.getRootDir(), "downloads").listFiles();
+            if (downloads != null) {
+                long now = System.currentTimeMillis();
+                for (File download : downloads) {
+                    if (now - download.lastModified() > TimeUnit.DAYS.toMillis(1)) {
+                        cache.deleteQuietly(download);
+                    }
+                }
+            }
+            cache.sweep(ProvisioningConfiguration.get().getToolCacheMaxSize() * MB);
+        }
+    }
+}
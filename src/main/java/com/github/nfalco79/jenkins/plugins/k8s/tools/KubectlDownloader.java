@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s.tools;
+
+import static java.util.logging.Level.WARNING;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
+
+import com.codahale.metrics.Timer.Context;
+import com.github.nfalco79.jenkins.plugins.k8s.Messages;
+import com.github.nfalco79.jenkins.plugins.k8s.ProvisioningMetrics;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.ProxyConfiguration;
+import hudson.Util;
+
+/**
+ * Downloads the kubectl binaries verifying them with the SHA-256 checksum
+ * published next to each binary.
+ * <p>
+ * The download is written to a {@code .part} file that is resumed with an
+ * HTTP range request, after an exponential delay, when the connection fails,
+ * and a partial file left by a previous install is resumed as well. A binary
+ * is moved to its target only when its checksum matches.
+ *
+ * @author Nikolas Falco
+ */
+public final class KubectlDownloader {
+    private static final Logger LOGGER = Logger.getLogger(KubectlDownloader.class.getName());
+
+    private static final int MAX_ATTEMPTS = Integer.getInteger(KubectlDownloader.class.getName() + ".maxAttempts", 5);
+    private static final long BACKOFF = Long.getLong(KubectlDownloader.class.getName() + ".backoff", 1000);
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+
+    private KubectlDownloader() {
+    }
+
+    /**
+     * Returns the SHA-256 checksum published for the given binary.
+     *
+     * @param url the binary URL
+     * @return the lower case hex digest
+     * @throws IOException if the checksum is not available or not valid
+     */
+    @NonNull
+    public static String fetchDigest(@NonNull URL url) throws IOException {
+        URL digestURL = new URL(url.toExternalForm() + ".sha256");
+        String content;
+        try (InputStream is = ProxyConfiguration.open(digestURL).getInputStream()) {
+            content = IOUtils.toString(is, StandardCharsets.UTF_8).trim();
+        }
+        // the file could also have the sha256sum format "<digest>  <file name>"
+        String digest = content.split("\\s+", 2)[0].toLowerCase(Locale.ENGLISH);
+        if (!SHA256.matcher(digest).matches()) {
+            throw new IOException(Messages.Installer_invalidChecksum(digestURL));
+        }
+        return digest;
+    }
+
+    /**
+     * Downloads the given binary to the target file.
+     *
+     * @param url the binary URL
+     * @param target the file where store the binary
+     * @param expectedDigest the SHA-256 checksum of the binary
+     * @throws IOException if the download fails after all attempts or the
+     *         checksum does not match
+     */
+    public static void download(@NonNull URL url, @NonNull Path target, @NonNull String expectedDigest) throws IOException {
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        Path parent = part.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (Context ctx = ProvisioningMetrics.KUBECTL_DOWNLOAD.time()) {
+            IOException failure = null;
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                try {
+                    fetch(url, part);
+                    failure = null;
+                    break;
+                } catch (IOException e) {
+                    LOGGER.log(WARNING, "Download of {0} interrupted, {1} bytes received: {2}", new Object[] { url, Files.exists(part) ? Files.size(part) : 0, e.getMessage() });
+                    failure = e;
+                    if (attempt + 1 < MAX_ATTEMPTS) {
+                        pause(BACKOFF << attempt);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        String digest = digestOf(part);
+        if (!digest.equals(expectedDigest)) {
+            // could be a partial file of another release, do not resume it again
+            Files.deleteIfExists(part);
+            throw new IOException(Messages.Installer_checksumMismatch(url, expectedDigest, digest));
+        }
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void pause(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (IOException) new InterruptedIOException("Download interrupted").initCause(e);
+        }
+    }
+
+    private static void fetch(URL url, Path part) throws IOException {
+        long offset = Files.exists(part) ? Files.size(part) : 0;
+        HttpURLConnection con = (HttpURLConnection) ProxyConfiguration.open(url);
+        if (offset > 0) {
+            con.setRequestProperty("Range", "bytes=" + offset + "-");
+        }
+        int code = con.getResponseCode();
+        boolean append;
+        if (code == HttpURLConnection.HTTP_PARTIAL) {
+            append = true;
+        } else if (code == HttpURLConnection.HTTP_OK) {
+            // range not supported, start over
+            append = false;
+        } else if (code == HTTP_RANGE_NOT_SATISFIABLE && offset > 0) {
+            // the partial file is already complete
+            return;
+        } else {
+            throw new IOException("Server returned HTTP " + code + " for " + url);
+        }
+
+        StandardOpenOption mode = append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        try (CountingInputStream is = new CountingInputStream(con.getInputStream()); //
+                OutputStream os = Files.newOutputStream(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            try {
+                IOUtils.copyLarge(is, os);
+            } finally {
+                ProvisioningMetrics.KUBECTL_BYTES.inc(is.getByteCount());
+            }
+        }
+    }
+
+    /**
+     * Returns the SHA-256 checksum of the given file.
+     *
+     * @param file the file
+     * @return the lower case hex digest
+     * @throws IOException if the file can not be read
+     */
+    @NonNull
+    public static String digestOf(@NonNull Path file) throws IOException {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream is = new DigestInputStream(Files.newInputStream(file), md)) {
+            IOUtils.consume(is);
+        }
+        return Util.toHexString(md.digest());
+    }
+}
@@ -18,34 +18,21 @@ package com.github.nfalco79.jenkins.plugins.k8s.tools;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.Proxy;
 import java.net.URL;
-import java.net.URLConnection;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
-import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.input.CountingInputStream;
-import org.jenkinsci.remoting.util.VersionNumber;
 import org.kohsuke.stapler.DataBoundConstructor;
 
+import com.codahale.metrics.Timer.Context;
 import com.github.nfalco79.jenkins.plugins.k8s.K8sConstants;
 import com.github.nfalco79.jenkins.plugins.k8s.Messages;
+import com.github.nfalco79.jenkins.plugins.k8s.ProvisioningMetrics;
 
 import hudson.Extension;
 import hudson.FilePath;
-import hudson.FilePath.TarCompression;
 import hudson.Functions;
-import hudson.ProxyConfiguration;
 import hudson.model.Node;
 import hudson.model.TaskListener;
 import hudson.remoting.VirtualChannel;
@@ -53,9 +40,6 @@ import hudson.slaves.NodeSpecific;
 import hudson.tools.DownloadFromUrlInstaller;
 import hudson.tools.ToolInstallation;
 import jenkins.MasterToSlaveFileCallable;
-import jenkins.model.Jenkins;
-import net.sf.json.JSONArray;
-import net.sf.json.JSONObject;
 
 /**
  * Download and installs Kubernetes CLI.
@@ -78,8 +62,8 @@ public class KubectlInstaller extends DownloadFromUrlInstaller {
 
         Installable installable = getInstallable();
         if (installable == null) {
-            log.getLogger().println("Invalid tool ID " + id);
-            return expected;
+            // the release index could be not yet available, the download URL depends only on the release tag
+            installable = new KubectlInstallable(id, id);
         }
 
         if (installable instanceof NodeSpecific specificNode) {
@@ -88,74 +72,89 @@ public class KubectlInstaller extends DownloadFromUrlInstaller {
         }
 
         if (!isUpToDate(expected, installable)) {
-            File cache = getLocalCacheFile(installable, node);
-            boolean skipInstall = false;
-            if (!DISABLE_CACHE && cache.exists()) {
-                log.getLogger().println(Messages.Installer_installFromCache(cache, expected, node.getDisplayName()));
-                try {
-                    restoreCache(expected, cache);
-                    skipInstall = true;
-                } catch (IOException e) {
-                    log.error("Use of caches failed: " + e.getMessage());
-                }
-            }
-            if (!skipInstall) {
-                // download the single executable file
-                URL url = new URL(installable.url);
-                URLConnection con = ProxyConfiguration.open(url);
-                con.setIfModifiedSince(expected.child(".timestamp").lastModified());
-                try (InputStream is = con.getInputStream()) {
-                    kubectl.copyFrom(is);
-                }
-                // leave a record for the next up-to-date check
-                expected.child(".installedFrom").write(installable.url, "UTF-8");
-                kubectl.act(new ChmodRecAPlusX());
-                if (!DISABLE_CACHE) {
-                    buildCache(expected, cache);
+            // a binary left by a failed install must not be seen as up to date
+            expected.child(".installedFrom").delete();
+
+            if (DISABLE_CACHE) {
+                installWithoutCache(kubectl, installable, node, log);
+            } else {
+                File cached = KubectlCache.get().lookup(installable.url);
+                boolean hit = cached != null;
+                if (!hit) {
+                    cached = download(installable);
                 }
+                install(kubectl, cached, KubectlCache.digestOf(cached), hit, node, log);
             }
+            kubectl.act(new ChmodRecAPlusX());
+            // leave a record for the next up-to-date check
+            expected.child(".installedFrom").write(installable.url, "UTF-8");
         }
         return expected;
     }
 
-    private void buildCache(FilePath expected, File cache) throws IOException, InterruptedException {
-        // update the local cache on master
-        // download to a temporary file and rename it in to handle concurrency and failure correctly,
-        Path tmp = new File(cache.getPath() + ".tmp").toPath();
+    /**
+     * Copies the binary to the agent unless the agent has already an
+     * identical file. Only the copy of a binary found in the cache is a
+     * restore, a binary just downloaded is not.
+     */
+    private void install(FilePath kubectl, File binary, String digest, boolean fromCache, Node node, TaskListener log) throws IOException, InterruptedException {
+        if (digest.equals(kubectl.act(new FileDigest()))) {
+            log.getLogger().println(Messages.Installer_alreadyInstalled(kubectl, node.getDisplayName()));
+            ProvisioningMetrics.KUBECTL_TRANSFER_SKIPPED.inc();
+            return;
+        }
+        if (!fromCache) {
+            log.getLogger().println(Messages.Installer_installDownloaded(binary, kubectl, node.getDisplayName()));
+            // a static binary does not gain from compression, stream it as is
+            kubectl.copyFrom(new FilePath(binary));
+            return;
+        }
+        log.getLogger().println(Messages.Installer_installFromCache(binary, kubectl, node.getDisplayName()));
+        try (Context ctx = ProvisioningMetrics.KUBECTL_CACHE_RESTORE.time()) {
+            kubectl.copyFrom(new FilePath(binary));
+        }
+    }
+
+    /**
+     * Downloads the verified binary of the given installable in a file of this
+     * install only, the cache entries and downloads are shared with other
+     * installs and must not be removed.
+     */
+    private void installWithoutCache(FilePath kubectl, Installable installable, Node node, TaskListener log) throws IOException, InterruptedException {
+        URL url = new URL(installable.url);
+        String digest = KubectlDownloader.fetchDigest(url);
+        Path binary = KubectlCache.get().createTemporaryFile(digest);
         try {
-            Path tmpParent = tmp.getParent();
-            if (tmpParent != null) {
-                Files.createDirectories(tmpParent);
-            }
-            try (OutputStream out = new GzipCompressorOutputStream(Files.newOutputStream(tmp))) {
-                // workaround to not store current folder as root folder in the archive
-                // this prevent issue when tool name is renamed
-                expected.tar(out, "**");
-            }
-            Files.move(tmp, cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            KubectlDownloader.download(url, binary, digest);
+            install(kubectl, binary.toFile(), digest, false, node, log);
         } finally {
-            Files.deleteIfExists(tmp);
+            Files.deleteIfExists(binary);
+            // not resumed by other installs
+            Files.deleteIfExists(binary.resolveSibling(binary.getFileName() + ".part"));
         }
     }
 
-    private File getLocalCacheFile(Installable installable, Node node) throws DetectionFailedException {
-        Platform platform = Platform.of(node);
-        // we store cache as tar.gz to preserve symlink
-        return new File(Jenkins.get().getRootPath() //
-                .child("caches") //
-                .child("k8s-provisioning") //
-                .child(platform.toString()) //
-                .child(id + ".tar.gz") //
-                .getRemote());
-    }
+    /**
+     * Downloads the verified binary of the given installable into the cache.
+     */
+    private File download(Installable installable) throws IOException {
+        KubectlCache cache = KubectlCache.get();
+        URL url = new URL(installable.url);
+        String digest = KubectlDownloader.fetchDigest(url);
+        synchronized (cache.getDownloadLock(digest)) {
+            // stored in the meanwhile by a concurrent install or the same binary published at another URL
+            File cached = cache.lookupByDigest(digest);
+            if (cached != null) {
+                cache.link(installable.url, digest);
+                return cached;
+            }
 
-    private void restoreCache(FilePath expected, File cache) throws IOException, InterruptedException {
-        try (InputStream in = cache.toURI().toURL().openStream()) {
-            CountingInputStream cis = new CountingInputStream(in);
+            Path binary = cache.getDownloadFile(digest);
             try {
-                Objects.requireNonNull(expected).untarFrom(cis, TarCompression.GZIP);
-            } catch (IOException e) {
-                throw new IOException(Messages.Installer_failedToUnpack(cache.toURI().toURL(), cis.getByteCount()), e);
+                KubectlDownloader.download(url, binary, digest);
+                return cache.put(installable.url, digest, binary);
+            } finally {
+                Files.deleteIfExists(binary);
             }
         }
     }
@@ -163,9 +162,6 @@ public class KubectlInstaller extends DownloadFromUrlInstaller {
     @Extension
     public static final class DescriptorImpl extends DownloadFromUrlInstaller.DescriptorImpl<KubectlInstaller> {
 
-        private List<? extends Installable> installables = new ArrayList<>();
-        private LocalDateTime expiryDate = LocalDateTime.now();
-
         @Override
         public String getDisplayName() {
             return Messages.Installer_displayName();
@@ -176,45 +172,26 @@ public class KubectlInstaller extends DownloadFromUrlInstaller {
             return toolType == KubectlInstallation.class;
         }
 
+        /**
+         * Returns the last known kubectl releases, they are refreshed in
+         * background and never block the caller.
+         */
         @Override
-        public List<? extends Installable> getInstallables() throws IOException {
-            // move this to a crawler at https://github.com/jenkins-infra/crawler
-            if (expiryDate.isBefore(LocalDateTime.now()) || installables.isEmpty()) {
-                expiryDate = LocalDateTime.now().plusHours(1);
-                Proxy proxy = Proxy.NO_PROXY;
-                ProxyConfiguration proxyCfg = Jenkins.get().getProxy();
-                if (proxyCfg != null) {
-                    proxy = proxyCfg.createProxy("api.github.com");
-                }
-
-                String uriTemplate = "https://api.github.com/repos/kubernetes/kubernetes/releases?per_page=100&page=";
-                List<KubectlInstallable> ghInstallables = new ArrayList<>();
-                int page = 1;
-                do {
-                    URL githubURL = new URL(uriTemplate + page);
-                    try (InputStream is = githubURL.openConnection(proxy).getInputStream()) {
-                        JSONArray releases = JSONArray.fromObject(IOUtils.toString(is, StandardCharsets.UTF_8));
-                        if (releases.isEmpty()) {
-                            break;
-                        }
-                        releases.forEach(rel -> {
-                            JSONObject release = (JSONObject) rel;
-                            if (!release.getBoolean("prerelease") && !release.getBoolean("draft")) {
-                                String id = release.getString("tag_name");
-                                String name = release.getString("name");
-                                ghInstallables.add(new KubectlInstallable(id, name));
-                                new VersionNumber(name);
-                                ghInstallables.sort((i1, i2) -> new VersionNumber(i2.id).compareTo(new VersionNumber(i1.id)));
-                            }
-                        });
-                        page += 1;
-                    }
-                } while (true);
-                installables = ghInstallables;
-            }
-            return installables;
+        public List<? extends Installable> getInstallables() {
+            return KubectlReleaseIndex.get().getReleases();
         }
+    }
 
+    /**
+     * Computes the SHA-256 of the given file.
+     */
+    static class FileDigest extends MasterToSlaveFileCallable<String> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String invoke(File f, VirtualChannel channel) throws IOException {
+            return f.isFile() ? KubectlDownloader.digestOf(f.toPath()) : null;
+        }
     }
 
     /**
@@ -256,7 +233,7 @@ public class KubectlInstaller extends DownloadFromUrlInstaller {
                 cmd = "kubectl";
                 break;
             case MACOS:
-                platform = "darwn";
+                platform = "darwin";
                 cmd = "kubectl";
                 break;
             case WINDOWS:
@@ -269,7 +246,7 @@ public class KubectlInstaller extends DownloadFromUrlInstaller {
 
             KubectlInstallable clone = new KubectlInstallable(id, name);
             clone.cmd = cmd;
-            clone.url = "https://dl.k8s.io/release/" + id + "/bin/" + platform + "/amd64/" + cmd;
+            clone.url = "https://dl.k8s.io/release/" + id + "/bin/" + platform + "/" + CPU.of(node).arch + "/" + cmd;
             return clone;
         }
 
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s.tools;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+import static java.util.logging.Level.WARNING;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import org.apache.commons.io.IOUtils;
+import org.jenkinsci.remoting.util.VersionNumber;
+
+import com.github.nfalco79.jenkins.plugins.k8s.tools.KubectlInstaller.KubectlInstallable;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ProxyConfiguration;
+import hudson.XmlFile;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Saveable;
+import hudson.model.TaskListener;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Index of the stable Kubernetes releases published on GitHub.
+ * <p>
+ * The index is persisted under the controller root and refreshed in background,
+ * readers always get the last known releases without waiting for GitHub. A
+ * refresh asks the first releases page with the ETag of the previous response
+ * so that an unchanged index costs a not modified response, otherwise pages
+ * are crawled only until a page of already known releases.
+ *
+ * @author Nikolas Falco
+ */
+public final class KubectlReleaseIndex implements Saveable {
+    private static final Logger LOGGER = Logger.getLogger(KubectlReleaseIndex.class.getName());
+
+    // not final to point to a test server
+    static String releasesURL = System.getProperty(KubectlReleaseIndex.class.getName() + ".url", "https://api.github.com/repos/kubernetes/kubernetes/releases");
+    private static final int PAGE_SIZE = 100;
+    private static final long MAX_AGE = Long.getLong(KubectlReleaseIndex.class.getName() + ".maxAge", TimeUnit.HOURS.toMillis(1));
+
+    private static final KubectlReleaseIndex INSTANCE = new KubectlReleaseIndex();
+
+    /**
+     * Releases sorted from the newest.
+     */
+    private List<KubectlInstallable> releases = new ArrayList<>();
+    private String etag;
+    private long lastChecked;
+
+    private transient boolean loaded;
+    private final transient AtomicBoolean refreshing = new AtomicBoolean();
+
+    private KubectlReleaseIndex() {
+    }
+
+    @NonNull
+    public static KubectlReleaseIndex get() {
+        return INSTANCE;
+    }
+
+    private XmlFile getConfigFile() {
+        return new XmlFile(Jenkins.XSTREAM2, new File(Jenkins.get().getRootDir(), KubectlReleaseIndex.class.getName() + ".xml"));
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        XmlFile file = getConfigFile();
+        if (file.exists()) {
+            try {
+                file.unmarshal(this);
+            } catch (IOException e) {
+                LOGGER.log(WARNING, "Failed to load " + file, e);
+            }
+        }
+        if (releases == null) {
+            releases = new ArrayList<>();
+        }
+    }
+
+    @Override
+    public synchronized void save() {
+        try {
+            getConfigFile().write(this);
+        } catch (IOException e) {
+            LOGGER.log(WARNING, "Failed to save kubectl release index", e);
+        }
+    }
+
+    /**
+     * Returns the known releases, a refresh is requested in background when
+     * they are older than the maximum age.
+     *
+     * @return the releases sorted from the newest
+     */
+    @NonNull
+    public List<KubectlInstallable> getReleases() {
+        load();
+        List<KubectlInstallable> result;
+        boolean stale;
+        synchronized (this) {
+            result = Collections.unmodifiableList(releases);
+            stale = releases.isEmpty() || System.currentTimeMillis() - lastChecked > MAX_AGE;
+        }
+        if (stale) {
+            refreshAsync();
+        }
+        return result;
+    }
+
+    private void refreshAsync() {
+        Timer.get().submit(() -> {
+            try {
+                refreshIfIdle();
+            } catch (IOException e) {
+                LOGGER.log(WARNING, "Failed to refresh kubectl releases", e);
+            }
+        });
+    }
+
+    private void refreshIfIdle() throws IOException {
+        if (refreshing.compareAndSet(false, true)) {
+            try {
+                refresh();
+            } finally {
+                refreshing.set(false);
+            }
+        }
+    }
+
+    /**
+     * Updates the index with the releases published since the last refresh.
+     *
+     * @throws IOException in case of communication failure with GitHub
+     */
+    void refresh() throws IOException {
+        load();
+        String knownETag;
+        Set<String> known = new HashSet<>();
+        synchronized (this) {
+            knownETag = releases.isEmpty() ? null : etag;
+            releases.forEach(r -> known.add(r.id));
+        }
+
+        HttpURLConnection con = open(1);
+        if (knownETag != null) {
+            con.setRequestProperty("If-None-Match", knownETag);
+        }
+        if (con.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            LOGGER.log(FINE, "kubectl releases are not changed");
+            synchronized (this) {
+                lastChecked = System.currentTimeMillis();
+            }
+            save();
+            return;
+        }
+        String newETag = con.getHeaderField("ETag");
+
+        boolean fullCrawl = known.isEmpty();
+        List<KubectlInstallable> added = new ArrayList<>();
+        int page = 1;
+        while (true) {
+            JSONArray pageReleases = read(con);
+            int before = added.size();
+            addReleases(pageReleases, added, known);
+            if (pageReleases.size() < PAGE_SIZE || !fullCrawl && added.size() == before) {
+                // last page or a page of releases already known
+                break;
+            }
+            con = open(++page);
+        }
+
+        synchronized (this) {
+            if (!added.isEmpty()) {
+                List<KubectlInstallable> merged = new ArrayList<>(releases);
+                merged.addAll(added);
+                sort(merged);
+                releases = merged;
+                LOGGER.log(INFO, "Found {0} new kubectl releases", added.size());
+            }
+            etag = newETag;
+            lastChecked = System.currentTimeMillis();
+        }
+        save();
+    }
+
+    private HttpURLConnection open(int page) throws IOException {
+        URLConnection con = ProxyConfiguration.open(new URL(releasesURL + "?per_page=" + PAGE_SIZE + "&page=" + page));
+        con.setRequestProperty("Accept", "application/vnd.github+json");
+        return (HttpURLConnection) con;
+    }
+
+    private JSONArray read(HttpURLConnection con) throws IOException {
+        try (InputStream is = con.getInputStream()) {
+            return JSONArray.fromObject(IOUtils.toString(is, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Adds the stable releases of a GitHub releases page that are not already
+     * known to the given installables.
+     *
+     * @param releases the GitHub releases
+     * @param installables the list where add the releases
+     * @param known the identifiers of the releases already known, updated with
+     *        the added ones
+     */
+    static void addReleases(JSONArray releases, List<KubectlInstallable> installables, Set<String> known) {
+        releases.forEach(rel -> {
+            JSONObject release = (JSONObject) rel;
+            if (!release.getBoolean("prerelease") && !release.getBoolean("draft")) {
+                String id = release.getString("tag_name");
+                if (known.add(id)) {
+                    installables.add(new KubectlInstallable(id, release.getString("name")));
+                }
+            }
+        });
+    }
+
+    /**
+     * Sorts the given installables from the newest release.
+     *
+     * @param installables the installables to sort
+     */
+    static void sort(List<KubectlInstallable> installables) {
+        installables.sort(Comparator.comparing((KubectlInstallable i) -> new VersionNumber(i.id)).reversed());
+    }
+
+    /**
+     * Keeps the release index up to date.
+     */
+    @Extension
+    public static class Crawler extends AsyncPeriodicWork {
+
+        public Crawler() {
+            super("kubectl release crawler");
+        }
+
+        @Override
+        public long getRecurrencePeriod() {
+            return MAX_AGE;
+        }
+
+        @Override
+        protected void execute(TaskListener listener) throws IOException, InterruptedException {
+            KubectlReleaseIndex.get().refreshIfIdle();
+        }
+    }
+}
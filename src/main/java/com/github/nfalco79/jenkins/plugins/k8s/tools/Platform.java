@@ -16,13 +16,11 @@
  */
 package com.github.nfalco79.jenkins.plugins.k8s.tools;
 
-import java.io.IOException;
 import java.util.Locale;
 import java.util.Map;
 
 import com.github.nfalco79.jenkins.plugins.k8s.Messages;
 
-import hudson.model.Computer;
 import hudson.model.Node;
 
 /**
@@ -56,15 +54,7 @@ public enum Platform {
      *             when the current platform node is not supported.
      */
     public static Platform of(Node node) throws DetectionFailedException {
-        try {
-            Computer computer = node.toComputer();
-            if (computer == null) {
-                throw new DetectionFailedException(Messages.SystemTools_nodeNotAvailable(node.getDisplayName()));
-            }
-            return detect(computer.getSystemProperties());
-        } catch (IOException | InterruptedException e) {
-            throw new DetectionFailedException(Messages.SystemTools_failureOnProperties(), e);
-        }
+        return detect(SystemTools.getSystemProperties(node));
     }
 
     public static Platform current() throws DetectionFailedException {
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s.tools;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.github.nfalco79.jenkins.plugins.k8s.Messages;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.slaves.ComputerListener;
+import hudson.slaves.OfflineCause;
+
+/**
+ * Caches the system properties of each computer.
+ * <p>
+ * The properties are read over the remoting channel once for each connection
+ * and dropped when the computer goes offline, so the platform detection of a
+ * tool installation does not make a round trip to the agent each time.
+ *
+ * @author Nikolas Falco
+ */
+public final class SystemTools {
+
+    private static final Map<Computer, Map<Object, Object>> PROPERTIES = new WeakHashMap<>();
+
+    private SystemTools() {
+    }
+
+    /**
+     * Returns the system properties of the JVM running on the given node.
+     *
+     * @param node the node
+     * @return the system properties
+     * @throws DetectionFailedException if the node is offline or the
+     *         properties can not be read
+     */
+    @NonNull
+    public static Map<Object, Object> getSystemProperties(@NonNull Node node) throws DetectionFailedException {
+        Computer computer = node.toComputer();
+        if (computer == null) {
+            throw new DetectionFailedException(Messages.SystemTools_nodeNotAvailable(node.getDisplayName()));
+        }
+        synchronized (PROPERTIES) {
+            Map<Object, Object> properties = PROPERTIES.get(computer);
+            if (properties != null) {
+                return properties;
+            }
+        }
+        try {
+            Map<Object, Object> properties = computer.getSystemProperties();
+            synchronized (PROPERTIES) {
+                PROPERTIES.put(computer, properties);
+            }
+            return properties;
+        } catch (IOException | InterruptedException e) {
+            throw new DetectionFailedException(Messages.SystemTools_failureOnProperties(), e);
+        }
+    }
+
+    static void invalidate(Computer computer) {
+        synchronized (PROPERTIES) {
+            PROPERTIES.remove(computer);
+        }
+    }
+
+    /**
+     * Drops the cached properties when a computer connects or disconnects, the
+     * agent could run on a different JVM or machine after a reconnection.
+     */
+    @Extension
+    public static class Invalidator extends ComputerListener {
+
+        @Override
+        public void onOnline(Computer c, TaskListener listener) {
+            invalidate(c);
+        }
+
+        @Override
+        public void onOffline(@NonNull Computer c, OfflineCause cause) {
+            invalidate(c);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import jenkins.benchmark.jmh.BenchmarkFinder;
+
+/**
+ * Runs all the JMH benchmarks of the plugin.
+ * <p>
+ * Benchmarks are skipped in the normal build, run them with
+ * {@code mvn test -Dbenchmark}, the report is written in
+ * {@code target/jmh-report.json}.
+ */
+public class BenchmarkRunner {
+
+    @Test
+    void runJmhBenchmarks() throws Exception {
+        assumeTrue(System.getProperty("benchmark") != null, "benchmarks are enabled with -Dbenchmark");
+
+        ChainedOptionsBuilder options = new OptionsBuilder() //
+                .mode(Mode.AverageTime) //
+                .timeUnit(TimeUnit.MICROSECONDS) //
+                .warmupIterations(3) //
+                .measurementIterations(5) //
+                .forks(1) //
+                .threads(1) //
+                .shouldFailOnError(true) //
+                .shouldDoGC(true) //
+                .resultFormat(ResultFormatType.JSON) //
+                .result("target/jmh-report.json");
+
+        // automatically adds all classes annotated with @JmhBenchmark
+        new BenchmarkFinder(getClass()).findBenchmarks(options);
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Predicate;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.ExtensionList;
+import hudson.model.FreeStyleProject;
+import hudson.model.TaskListener;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.storage.StorageClassBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+
+@WithJenkins
+@EnableKubernetesMockClient(crud = true)
+class IdlePVCCollectorTest {
+    private static final String NAMESPACE = "jenkins";
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+    private JenkinsRule rule;
+    private IdlePVCCollector collector;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) {
+        this.rule = rule;
+        KubernetesCloud cloud = new KubernetesCloud("kubernetes");
+        cloud.setServerUrl(client.getMasterUrl().toString());
+        cloud.setNamespace(NAMESPACE);
+        cloud.setSkipTlsVerify(true);
+        rule.jenkins.clouds.add(cloud);
+        collector = ExtensionList.lookupSingleton(IdlePVCCollector.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        PersistentVolumeClaimCache.shutdown();
+    }
+
+    @Test
+    void claims_of_deleted_jobs_are_kept_unless_enabled() throws Exception {
+        createClaim("deleted", "deleted", null);
+
+        collector.collect(TaskListener.NULL, 0, -1, false, 10);
+
+        PersistentVolumeClaim pvc = getClaim("deleted");
+        assertThat(pvc).isNotNull();
+        assertThat(pvc.getMetadata().getAnnotations()).doesNotContainKey(K8sConstants.ANNOTATION_ORPHAN_SINCE);
+    }
+
+    @Test
+    void claims_of_deleted_jobs_are_removed_after_the_grace_period() throws Exception {
+        createClaim("deleted", "deleted", null);
+
+        collector.collect(TaskListener.NULL, 0, 1, false, 10);
+        PersistentVolumeClaim pvc = getClaim("deleted");
+        assertThat(pvc).isNotNull();
+        assertThat(pvc.getMetadata().getAnnotations()).containsKey(K8sConstants.ANNOTATION_ORPHAN_SINCE);
+
+        String since = Instant.now().minus(2, ChronoUnit.DAYS).toString();
+        annotate("deleted", K8sConstants.ANNOTATION_ORPHAN_SINCE, since);
+        awaitCache("deleted", p -> since.equals(p.getMetadata().getAnnotations().get(K8sConstants.ANNOTATION_ORPHAN_SINCE)));
+
+        collector.collect(TaskListener.NULL, 0, 1, false, 10);
+        assertThat(getClaim("deleted")).isNull();
+    }
+
+    @Test
+    void orphan_mark_is_removed_when_the_job_shows_up_again() throws Exception {
+        rule.createFreeStyleProject("restored");
+        createClaim(PVCUtil.normalize("restored"), "restored", null);
+        annotate(PVCUtil.normalize("restored"), K8sConstants.ANNOTATION_ORPHAN_SINCE, Instant.now().minus(2, ChronoUnit.DAYS).toString());
+        awaitCache(PVCUtil.normalize("restored"), p -> p.getMetadata().getAnnotations().containsKey(K8sConstants.ANNOTATION_ORPHAN_SINCE));
+
+        collector.collect(TaskListener.NULL, 0, 1, false, 10);
+
+        PersistentVolumeClaim pvc = getClaim(PVCUtil.normalize("restored"));
+        assertThat(pvc).isNotNull();
+        assertThat(pvc.getMetadata().getAnnotations()).doesNotContainKey(K8sConstants.ANNOTATION_ORPHAN_SINCE);
+    }
+
+    @Test
+    void dry_run_does_not_change_claims() throws Exception {
+        createClaim("deleted", "deleted", null);
+        rule.createFreeStyleProject("restored");
+        createClaim(PVCUtil.normalize("restored"), "restored", null);
+        String since = Instant.now().minus(2, ChronoUnit.DAYS).toString();
+        annotate(PVCUtil.normalize("restored"), K8sConstants.ANNOTATION_ORPHAN_SINCE, since);
+        awaitCache(PVCUtil.normalize("restored"), p -> p.getMetadata().getAnnotations().containsKey(K8sConstants.ANNOTATION_ORPHAN_SINCE));
+
+        collector.collect(TaskListener.NULL, 0, 1, true, 10);
+
+        assertThat(getClaim("deleted").getMetadata().getAnnotations()).doesNotContainKey(K8sConstants.ANNOTATION_ORPHAN_SINCE);
+        assertThat(getClaim(PVCUtil.normalize("restored")).getMetadata().getAnnotations()).containsEntry(K8sConstants.ANNOTATION_ORPHAN_SINCE, since);
+    }
+
+    @Test
+    void claim_named_by_a_previous_version_is_migrated() throws Exception {
+        rule.createFreeStyleProject("app");
+        client.storage().v1().storageClasses().resource(new StorageClassBuilder() //
+                .withNewMetadata().withName("csi").endMetadata() //
+                .withProvisioner("csi.example.com") //
+                .build()).create();
+        createClaim("legacy-app", "app", "csi");
+
+        collector.collect(TaskListener.NULL, 0, 1, false, 10);
+
+        PersistentVolumeClaim legacy = getClaim("legacy-app");
+        assertThat(legacy).isNotNull();
+        assertThat(legacy.getMetadata().getAnnotations()).containsEntry(K8sConstants.ANNOTATION_MOVED_TO, PVCUtil.normalize("app"));
+        PersistentVolumeClaim clone = getClaim(PVCUtil.normalize("app"));
+        assertThat(clone).isNotNull();
+        assertThat(clone.getSpec().getDataSource().getName()).isEqualTo("legacy-app");
+    }
+
+    @Test
+    void claim_named_by_a_previous_version_is_kept_when_it_can_not_be_cloned() throws Exception {
+        rule.createFreeStyleProject("app");
+        // no CSI storage class
+        createClaim("legacy-app", "app", null);
+
+        collector.collect(TaskListener.NULL, 30, 1, false, 10);
+
+        assertThat(getClaim("legacy-app")).isNotNull();
+        assertThat(getClaim(PVCUtil.normalize("app"))).isNull();
+    }
+
+    @Test
+    void claim_of_a_released_version_is_migrated() throws Exception {
+        rule.createFolder("folder").createProject(FreeStyleProject.class, "App");
+        client.storage().v1().storageClasses().resource(new StorageClassBuilder() //
+                .withNewMetadata().withName("csi").endMetadata() //
+                .withProvisioner("csi.example.com") //
+                .build()).create();
+        // released versions did not label their claims
+        client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(new PersistentVolumeClaimBuilder() //
+                .withNewMetadata().withName("pvc-folder-app").endMetadata() //
+                .withNewSpec() //
+                .withAccessModes("ReadWriteOnce") //
+                .withStorageClassName("csi") //
+                .withNewResources() //
+                .addToRequests("storage", Quantity.parse("1Gi")) //
+                .endResources() //
+                .endSpec() //
+                .build()).create();
+
+        collector.collect(TaskListener.NULL, 0, 1, false, 10);
+
+        PersistentVolumeClaim legacy = getClaim("pvc-folder-app");
+        assertThat(legacy.getMetadata().getLabels()).containsEntry(K8sConstants.LABEL_MANAGED, "true");
+        assertThat(legacy.getMetadata().getAnnotations()).containsEntry(K8sConstants.ANNOTATION_JOB, "folder/App") //
+                .containsEntry(K8sConstants.ANNOTATION_MOVED_TO, PVCUtil.normalize("folder/App"));
+        PersistentVolumeClaim clone = getClaim(PVCUtil.normalize("folder/App"));
+        assertThat(clone).isNotNull();
+        assertThat(clone.getSpec().getDataSource().getName()).isEqualTo("pvc-folder-app");
+    }
+
+    private void createClaim(String name, String jobName, String storageClassName) {
+        PersistentVolumeClaim pvc = new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(name) //
+                .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                .addToAnnotations(K8sConstants.ANNOTATION_JOB, jobName) //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes("ReadWriteOnce") //
+                .withStorageClassName(storageClassName) //
+                .withNewResources() //
+                .addToRequests("storage", Quantity.parse("1Gi")) //
+                .endResources() //
+                .endSpec() //
+                .build();
+        client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(pvc).create();
+    }
+
+    private void annotate(String name, String key, String value) {
+        client.persistentVolumeClaims().inNamespace(NAMESPACE).withName(name).edit(p -> new PersistentVolumeClaimBuilder(p) //
+                .editMetadata() //
+                .addToAnnotations(key, value) //
+                .endMetadata() //
+                .build());
+    }
+
+    private PersistentVolumeClaim getClaim(String name) {
+        return client.persistentVolumeClaims().inNamespace(NAMESPACE).withName(name).get();
+    }
+
+    private void awaitCache(String name, Predicate<PersistentVolumeClaim> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            PersistentVolumeClaim pvc = PersistentVolumeClaimCache.hasSynced(client, NAMESPACE) ? PersistentVolumeClaimCache.get(client, NAMESPACE, name) : null;
+            if (pvc != null && condition.test(pvc)) {
+                return;
+            }
+            assertThat(System.currentTimeMillis()).as("cache not updated").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
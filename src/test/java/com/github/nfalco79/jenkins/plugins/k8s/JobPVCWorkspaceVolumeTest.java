@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.storage.StorageClassBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+
+@WithJenkins
+@EnableKubernetesMockClient(crud = true)
+class JobPVCWorkspaceVolumeTest {
+    private static final String SIZE = "10Gi";
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    @AfterEach
+    void tearDown() {
+        PersistentVolumeClaimCache.shutdown();
+    }
+
+    @Test
+    void existing_claims_are_looked_up_without_api_calls() throws Exception {
+        int namespaces = 10;
+        int claimsPerNamespace = 300;
+        for (int ns = 0; ns < namespaces; ns++) {
+            for (int i = 0; i < claimsPerNamespace; i++) {
+                createClaim("ns-" + ns, "folder/job-" + i);
+            }
+        }
+        for (int ns = 0; ns < namespaces; ns++) {
+            awaitSync("ns-" + ns);
+        }
+
+        int requests = server.getRequestCount();
+        long start = System.nanoTime();
+        for (int ns = 0; ns < namespaces; ns++) {
+            for (int i = 0; i < claimsPerNamespace; i++) {
+                PersistentVolumeClaim pvc = new JobPVCWorkspaceVolume("folder/job-" + i, null, SIZE, null) //
+                        .createVolume(client, podMeta("ns-" + ns, "pod-" + i));
+                assertThat(pvc).isNotNull();
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // only the watch of an informer could be opened after the initial list
+        assertThat(server.getRequestCount() - requests).isLessThanOrEqualTo(namespaces);
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void concurrent_builds_of_the_same_job_provision_the_claim_once() throws Exception {
+        String namespace = "jenkins";
+        awaitSync(namespace);
+        int threads = 32;
+
+        int requests = server.getRequestCount();
+        List<PersistentVolumeClaim> results = runConcurrently(threads, i -> new JobPVCWorkspaceVolume("folder/same-job", null, SIZE, null) //
+                .createVolume(client, podMeta(namespace, "pod-" + i)));
+
+        assertThat(results).hasSize(threads) //
+                .extracting(pvc -> pvc.getMetadata().getName()) //
+                .containsOnly(PVCUtil.normalize("folder/same-job"));
+        assertThat(client.persistentVolumeClaims().inNamespace(namespace).list().getItems()).hasSize(1);
+        // most callers wait for the in flight provisioning
+        assertThat(server.getRequestCount() - requests).isLessThanOrEqualTo(threads / 2);
+    }
+
+    @Test
+    void concurrent_builds_of_different_jobs_provision_all_claims() throws Exception {
+        String namespace = "jenkins";
+        awaitSync(namespace);
+        int threads = 100;
+
+        long created = ProvisioningMetrics.PVC_CREATE.getCount();
+        long start = System.nanoTime();
+        List<PersistentVolumeClaim> results = runConcurrently(threads, i -> new JobPVCWorkspaceVolume("folder/job-" + i, null, SIZE, null) //
+                .createVolume(client, podMeta(namespace, "pod-" + i)));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(results).extracting(pvc -> pvc.getMetadata().getName()).doesNotHaveDuplicates().hasSize(threads);
+        assertThat(client.persistentVolumeClaims().inNamespace(namespace).list().getItems()).hasSize(threads);
+        assertThat(ProvisioningMetrics.PVC_CREATE.getCount() - created).isEqualTo(threads);
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void unbound_claim_is_recreated_instead_of_expanded() throws Exception {
+        String namespace = "jenkins";
+        client.storage().v1().storageClasses().resource(new StorageClassBuilder() //
+                .withNewMetadata().withName("expandable").endMetadata() //
+                .withProvisioner("csi.example.com") //
+                .withAllowVolumeExpansion(true) //
+                .build()).create();
+        // a claim waiting for its first consumer has no status phase Bound
+        client.persistentVolumeClaims().inNamespace(namespace).resource(new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(PVCUtil.normalize("pending-job")) //
+                .withNamespace(namespace) //
+                .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes("ReadWriteOnce") //
+                .withStorageClassName("expandable") //
+                .withNewResources() //
+                .addToRequests("storage", Quantity.parse(SIZE)) //
+                .endResources() //
+                .endSpec() //
+                .withNewStatus().withPhase("Pending").endStatus() //
+                .build()).create();
+        awaitSync(namespace);
+
+        long expanded = ProvisioningMetrics.PVC_EXPAND.getCount();
+        PersistentVolumeClaim pvc = new JobPVCWorkspaceVolume("pending-job", "expandable", "20Gi", null) //
+                .createVolume(client, podMeta(namespace, "pod"));
+
+        assertThat(PVCUtil.getRequestSize(pvc)).isEqualTo(Quantity.parse("20Gi"));
+        assertThat(pvc.getStatus() == null || pvc.getStatus().getPhase() == null).isTrue();
+        assertThat(ProvisioningMetrics.PVC_EXPAND.getCount()).isEqualTo(expanded);
+    }
+
+    @Test
+    void seed_from_another_storage_class_is_skipped(JenkinsRule rule) throws Exception {
+        String namespace = "jenkins";
+        ProvisioningConfiguration config = ProvisioningConfiguration.get();
+        config.setHotStorageClassName("ssd");
+        config.setColdStorageClassName("hdd");
+        config.setHotBuildThreshold(1);
+        rule.createFreeStyleProject("feature");
+        client.persistentVolumeClaims().inNamespace(namespace).resource(new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(PVCUtil.normalize("main")) //
+                .withNamespace(namespace) //
+                .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes("ReadWriteOnce") //
+                .withStorageClassName("ssd") //
+                .withNewResources() //
+                .addToRequests("storage", Quantity.parse(SIZE)) //
+                .endResources() //
+                .endSpec() //
+                .build()).create();
+        awaitSync(namespace);
+
+        JobPVCWorkspaceVolume volume = new JobPVCWorkspaceVolume("feature", null, SIZE, null);
+        volume.setSeedStrategy(SeedStrategy.PVC_CLONE);
+        volume.setSeedFrom("main");
+        // a job without builds belongs to the cold tier
+        PersistentVolumeClaim pvc = volume.createVolume(client, podMeta(namespace, "pod"));
+
+        assertThat(pvc.getSpec().getStorageClassName()).isEqualTo("hdd");
+        assertThat(pvc.getSpec().getDataSource()).isNull();
+    }
+
+    private interface Provisioning {
+        PersistentVolumeClaim provision(int index);
+    }
+
+    private List<PersistentVolumeClaim> runConcurrently(int threads, Provisioning provisioning) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<PersistentVolumeClaim>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return provisioning.provision(index);
+                }));
+            }
+            start.countDown();
+            List<PersistentVolumeClaim> results = new ArrayList<>();
+            for (Future<PersistentVolumeClaim> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void createClaim(String namespace, String jobName) {
+        PersistentVolumeClaim pvc = new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(PVCUtil.normalize(jobName)) //
+                .withNamespace(namespace) //
+                .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes("ReadWriteOnce") //
+                .withNewResources() //
+                .addToRequests("storage", Quantity.parse(SIZE)) //
+                .endResources() //
+                .endSpec() //
+                .build();
+        client.persistentVolumeClaims().inNamespace(namespace).resource(pvc).create();
+    }
+
+    private void awaitSync(String namespace) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!PersistentVolumeClaimCache.hasSynced(client, namespace)) {
+            assertThat(System.currentTimeMillis()).as("informer of %s not synchronised", namespace).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private ObjectMeta podMeta(String namespace, String podName) {
+        return new ObjectMetaBuilder().withNamespace(namespace).withName(podName).build();
+    }
+}
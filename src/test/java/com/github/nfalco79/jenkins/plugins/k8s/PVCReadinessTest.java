@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+
+@WithJenkins
+@EnableKubernetesMockClient(crud = true)
+class PVCReadinessTest {
+    private static final String NAMESPACE = "jenkins";
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    @Test
+    void bound_claim_is_ready() {
+        PersistentVolumeClaim pvc = createClaim("bound", "Bound");
+
+        assertThat(PVCReadiness.waitForBound(client, pvc, 1)).isSameAs(pvc);
+    }
+
+    @Test
+    void lost_claim_fails_without_waiting() {
+        PersistentVolumeClaim pvc = createClaim("lost", "Lost");
+
+        assertThatThrownBy(() -> PVCReadiness.waitForBound(client, pvc, 60)) //
+                .isInstanceOf(KubernetesClientException.class) //
+                .hasMessage(Messages.PVCReadiness_lost(NAMESPACE, "lost"));
+    }
+
+    @Test
+    void claim_lost_while_waiting_fails_the_wait() throws Exception {
+        PersistentVolumeClaim pvc = createClaim("losing", "Pending");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<PersistentVolumeClaim> wait = executor.submit(() -> PVCReadiness.waitForBound(client, pvc, 60));
+            Thread.sleep(500);
+            client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(new PersistentVolumeClaimBuilder(pvc) //
+                    .editStatus().withPhase("Lost").endStatus() //
+                    .build()).updateStatus();
+
+            assertThatThrownBy(wait::get) //
+                    .isInstanceOf(ExecutionException.class) //
+                    .cause() //
+                    .isInstanceOf(KubernetesClientException.class) //
+                    .hasMessage(Messages.PVCReadiness_lost(NAMESPACE, "losing"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void claim_not_bound_in_time_fails_the_wait() {
+        PersistentVolumeClaim pvc = createClaim("pending", "Pending");
+
+        assertThatThrownBy(() -> PVCReadiness.waitForBound(client, pvc, 1)) //
+                .isInstanceOf(KubernetesClientException.class) //
+                .hasMessage(Messages.PVCReadiness_timeout(NAMESPACE, "pending", 1));
+    }
+
+    private PersistentVolumeClaim createClaim(String name, String phase) {
+        PersistentVolumeClaim pvc = client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(name) //
+                .withNamespace(NAMESPACE) //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes("ReadWriteOnce") //
+                .withNewResources() //
+                .addToRequests("storage", Quantity.parse("1Gi")) //
+                .endResources() //
+                .endSpec() //
+                .build()).create();
+        return client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(new PersistentVolumeClaimBuilder(pvc) //
+                .withNewStatus().withPhase(phase).endStatus() //
+                .build()).updateStatus();
+    }
+}
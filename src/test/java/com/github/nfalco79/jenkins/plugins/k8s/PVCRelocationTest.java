@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.ExtensionList;
+import hudson.model.TaskListener;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.StatusBuilder;
+import io.fabric8.kubernetes.api.model.storage.StorageClassBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+
+@WithJenkins
+@EnableKubernetesMockClient(crud = true)
+class PVCRelocationTest {
+    private static final String NAMESPACE = "jenkins";
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+    private JenkinsRule rule;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) {
+        this.rule = rule;
+        KubernetesCloud cloud = new KubernetesCloud("kubernetes");
+        cloud.setServerUrl(client.getMasterUrl().toString());
+        cloud.setNamespace(NAMESPACE);
+        cloud.setSkipTlsVerify(true);
+        rule.jenkins.clouds.add(cloud);
+        client.storage().v1().storageClasses().resource(new StorageClassBuilder() //
+                .withNewMetadata().withName("csi").endMetadata() //
+                .withProvisioner("csi.example.com") //
+                .build()).create();
+    }
+
+    @AfterEach
+    void tearDown() {
+        PersistentVolumeClaimCache.shutdown();
+    }
+
+    @Test
+    void claims_are_cloned_to_the_new_job_name() throws Exception {
+        createClaim("old-job");
+
+        PVCRelocation.relocate("old-job", "new-job");
+
+        PersistentVolumeClaim old = getClaim(PVCUtil.normalize("old-job"));
+        assertThat(old.getMetadata().getAnnotations()).containsEntry(K8sConstants.ANNOTATION_MOVED_TO, PVCUtil.normalize("new-job"));
+        PersistentVolumeClaim clone = getClaim(PVCUtil.normalize("new-job"));
+        assertThat(clone).isNotNull();
+        assertThat(clone.getMetadata().getAnnotations()).containsEntry(K8sConstants.ANNOTATION_JOB, "new-job");
+        assertThat(clone.getSpec().getDataSource().getName()).isEqualTo(PVCUtil.normalize("old-job"));
+    }
+
+    @Test
+    void failed_clone_keeps_the_claim_and_the_collector_completes_the_move() throws Exception {
+        createClaim("old-job");
+        server.expect().post().withPath("/api/v1/namespaces/" + NAMESPACE + "/persistentvolumeclaims") //
+                .andReturn(500, new StatusBuilder().withCode(500).withMessage("boom").build()) //
+                .once();
+
+        PVCRelocation.relocate("old-job", "new-job");
+
+        PersistentVolumeClaim old = getClaim(PVCUtil.normalize("old-job"));
+        assertThat(old).isNotNull();
+        assertThat(old.getMetadata().getAnnotations()) //
+                .containsEntry(K8sConstants.ANNOTATION_JOB, "new-job") //
+                .doesNotContainKey(K8sConstants.ANNOTATION_MOVED_TO);
+        assertThat(getClaim(PVCUtil.normalize("new-job"))).isNull();
+        assertThat(PVCCleanupQueue.get().isIdle()).isTrue();
+
+        rule.createFreeStyleProject("new-job");
+        awaitCache(PVCUtil.normalize("old-job"), "new-job");
+        ExtensionList.lookupSingleton(IdlePVCCollector.class).collect(TaskListener.NULL, 0, -1, false, 10);
+
+        assertThat(getClaim(PVCUtil.normalize("new-job"))).isNotNull();
+        assertThat(getClaim(PVCUtil.normalize("old-job")).getMetadata().getAnnotations()).containsKey(K8sConstants.ANNOTATION_MOVED_TO);
+    }
+
+    @Test
+    void source_is_released_only_when_the_clone_is_bound() throws Exception {
+        createClaim("old-job");
+        PVCRelocation.relocate("old-job", "new-job");
+        PersistentVolumeClaim old = getClaim(PVCUtil.normalize("old-job"));
+
+        assertThat(PVCRelocation.isMoveCompleted(client, old)).isFalse();
+
+        PersistentVolumeClaim clone = getClaim(PVCUtil.normalize("new-job"));
+        client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(new PersistentVolumeClaimBuilder(clone) //
+                .withNewStatus().withPhase("Bound").endStatus() //
+                .build()).updateStatus();
+        assertThat(PVCRelocation.isMoveCompleted(client, old)).isTrue();
+
+        // a clone that does not exist is not a completed move
+        client.persistentVolumeClaims().inNamespace(NAMESPACE).withName(PVCUtil.normalize("new-job")).delete();
+        assertThat(PVCRelocation.isMoveCompleted(client, old)).isFalse();
+    }
+
+    private void createClaim(String jobName) {
+        PersistentVolumeClaim pvc = new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(PVCUtil.normalize(jobName)) //
+                .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                .addToAnnotations(K8sConstants.ANNOTATION_JOB, jobName) //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes("ReadWriteOnce") //
+                .withStorageClassName("csi") //
+                .withNewResources() //
+                .addToRequests("storage", Quantity.parse("1Gi")) //
+                .endResources() //
+                .endSpec() //
+                .build();
+        client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(pvc).create();
+    }
+
+    private void awaitCache(String name, String jobName) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            PersistentVolumeClaim pvc = PersistentVolumeClaimCache.hasSynced(client, NAMESPACE) ? PersistentVolumeClaimCache.get(client, NAMESPACE, name) : null;
+            if (pvc != null && jobName.equals(pvc.getMetadata().getAnnotations().get(K8sConstants.ANNOTATION_JOB))) {
+                return;
+            }
+            assertThat(System.currentTimeMillis()).as("cache not updated").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private PersistentVolumeClaim getClaim(String name) {
+        return client.persistentVolumeClaims().inNamespace(NAMESPACE).withName(name).get();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+@WithJenkins
+class PVCUsageHistoryTest {
+
+    @Test
+    void remove_forgets_shards_but_not_jobs_with_a_similar_name(JenkinsRule rule) {
+        PVCUsageHistory history = PVCUsageHistory.get();
+        history.record("pvc-foo", "pvc-foo", 100, 10);
+        history.record("pvc-foo-0", "pvc-foo", 100, 10);
+        // another job, not a shard of pvc-foo
+        history.record("pvc-foo-1", "pvc-foo-1", 100, 10);
+
+        history.remove("pvc-foo");
+
+        assertThat(history.getSamples("pvc-foo")).isEmpty();
+        assertThat(history.getSamples("pvc-foo-0")).isEmpty();
+        assertThat(history.getSamples("pvc-foo-1")).hasSize(1);
+    }
+
+    @Test
+    void samples_are_written_by_the_flush(JenkinsRule rule) {
+        File file = new File(rule.jenkins.getRootDir(), PVCUsageHistory.class.getName() + ".xml");
+        PVCUsageHistory history = PVCUsageHistory.get();
+        history.record("pvc-bar", "pvc-bar", 100, 10);
+        assertThat(file).doesNotExist();
+
+        PVCUsageHistory.flush();
+        assertThat(file).exists();
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import jenkins.benchmark.jmh.JmhBenchmark;
+
+/**
+ * Claim name computation, done for each agent pod.
+ */
+@JmhBenchmark
+@State(Scope.Benchmark)
+public class PVCUtilBenchmark {
+
+    @Param({ "simple-job", //
+        "My Folder/My Project/feature%2FJIRA-1234-very-long-branch-name-that-exceed-the-limit", //
+        "CM projects/cm.images-$docker$-images" })
+    public String jobName;
+
+    @Benchmark
+    public String normalize() {
+        return PVCUtil.normalize(jobName);
+    }
+}
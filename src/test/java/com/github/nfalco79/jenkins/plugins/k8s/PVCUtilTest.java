@@ -20,6 +20,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.jupiter.api.Test;
 
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+
 public class PVCUtilTest {
 
     @Test
@@ -33,4 +37,95 @@ public class PVCUtilTest {
         String result = PVCUtil.normalize("CM projects/cm.images-$docker$-images");
         assertThat(result).matches("[a-z0-9]([-a-z0-9]*[a-z0-9])?(\\.[a-z0-9]([-a-z0-9]*[a-z0-9])?)*");
     }
+
+    @Test
+    void test_normalize_keeps_plain_names() {
+        assertThat(PVCUtil.normalize("my.job-1")).isEqualTo("pvc-my.job-1");
+        assertThat(PVCUtil.normalize("MyJob")).startsWith("pvc-myjob-");
+        assertThat(PVCUtil.normalize("folder/my.job-1")).startsWith("pvc-folder-my.job-1-");
+        assertThat(PVCUtil.normalize("project/feature%2Fabc")).startsWith("pvc-project-feature-abc-");
+    }
+
+    @Test
+    void test_normalize_does_not_collide_folder_separator_with_hyphen() {
+        assertThat(PVCUtil.normalize("a-b")).isEqualTo("pvc-a-b");
+        assertThat(PVCUtil.normalize("a/b")).isNotEqualTo(PVCUtil.normalize("a-b"));
+        assertThat(PVCUtil.normalize("project/feature%2Fabc")).isNotEqualTo(PVCUtil.normalize("project/feature-abc"));
+    }
+
+    @Test
+    void test_normalize_does_not_collide_on_case() {
+        assertThat(PVCUtil.normalize("Foo")).isNotEqualTo(PVCUtil.normalize("foo"));
+        assertThat(PVCUtil.normalize("a%2Db")).isNotEqualTo(PVCUtil.normalize("a-b"));
+    }
+
+    @Test
+    void test_legacy_normalize_is_the_name_of_released_versions() {
+        assertThat(PVCUtil.legacyNormalize("folder/MyJob")).isEqualTo("pvc-folder-myjob");
+        assertThat(PVCUtil.legacyNormalize("project/feature%2Fabc")).isEqualTo("pvc-project-feature-abc");
+        assertThat(PVCUtil.legacyNormalize("my job_1$")).isEqualTo("pvc-my-job_1");
+        assertThat(PVCUtil.legacyNormalize("job%zz")).isNull();
+    }
+
+    @Test
+    void test_normalize_does_not_collide_on_lossy_mapping() {
+        assertThat(PVCUtil.normalize("a/b")).isNotEqualTo(PVCUtil.normalize("a b")) //
+                .isNotEqualTo(PVCUtil.normalize("a_b"));
+        assertThat(PVCUtil.normalize("a b")).startsWith("pvc-a-b-").isNotEqualTo(PVCUtil.normalize("a_b"));
+        assertThat(PVCUtil.normalize("job$")).isNotEqualTo(PVCUtil.normalize("job"));
+        assertThat(PVCUtil.normalize("a b")).isEqualTo(PVCUtil.normalize("a b"));
+    }
+
+    @Test
+    void test_normalize_bounds_deep_folder_paths() {
+        String parent = "organization/very-long-repository-name-for-a-product/";
+        String name1 = PVCUtil.normalize(parent + "feature%2FJIRA-1234-implement-something-huge");
+        String name2 = PVCUtil.normalize(parent + "feature%2FJIRA-1234-implement-something-else");
+
+        assertThat(name1).hasSizeLessThanOrEqualTo(63) //
+                .matches("[a-z0-9]([-a-z0-9]*[a-z0-9])?(\\.[a-z0-9]([-a-z0-9]*[a-z0-9])?)*") //
+                .isNotEqualTo(name2);
+        assertThat(name2).hasSizeLessThanOrEqualTo(63);
+    }
+
+    @Test
+    void test_normalize_with_invalid_separators() {
+        assertThat(PVCUtil.normalize("job.-.name.")).matches("[a-z0-9]([-a-z0-9]*[a-z0-9])?(\\.[a-z0-9]([-a-z0-9]*[a-z0-9])?)*");
+        assertThat(PVCUtil.normalize(".job")).matches("[a-z0-9]([-a-z0-9]*[a-z0-9])?(\\.[a-z0-9]([-a-z0-9]*[a-z0-9])?)*");
+    }
+
+    @Test
+    void test_compare_quantity_with_different_units() {
+        assertThat(PVCUtil.compare(Quantity.parse("1Gi"), Quantity.parse("1024Mi"))).isZero();
+        assertThat(PVCUtil.compare(Quantity.parse("20Gi"), Quantity.parse("10Gi"))).isPositive();
+        assertThat(PVCUtil.compare(Quantity.parse("500Mi"), Quantity.parse("1Gi"))).isNegative();
+    }
+
+    @Test
+    void test_is_resized() {
+        Quantity request = Quantity.parse("20Gi");
+        PersistentVolumeClaim pvc = new PersistentVolumeClaimBuilder() //
+                .withNewStatus() //
+                .addToCapacity("storage", Quantity.parse("10Gi")) //
+                .endStatus() //
+                .build();
+        assertThat(PVCUtil.isResized(pvc, request)).isFalse();
+
+        pvc = new PersistentVolumeClaimBuilder(pvc) //
+                .editStatus() //
+                .addNewCondition() //
+                .withType("FileSystemResizePending") //
+                .withStatus("True") //
+                .endCondition() //
+                .endStatus() //
+                .build();
+        assertThat(PVCUtil.isResized(pvc, request)).isTrue();
+
+        pvc = new PersistentVolumeClaimBuilder() //
+                .withNewStatus() //
+                .addToCapacity("storage", request) //
+                .endStatus() //
+                .build();
+        assertThat(PVCUtil.isResized(pvc, request)).isTrue();
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import com.cloudbees.hudson.plugins.folder.Folder;
+
+import hudson.model.FreeStyleProject;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+
+@WithJenkins
+@EnableKubernetesMockClient(crud = true)
+class PersistentVolumeClaimJobListenerTest {
+    private static final String NAMESPACE = "jenkins";
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+    private JenkinsRule rule;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) {
+        this.rule = rule;
+        KubernetesCloud cloud = new KubernetesCloud("kubernetes");
+        cloud.setServerUrl(client.getMasterUrl().toString());
+        cloud.setNamespace(NAMESPACE);
+        cloud.setSkipTlsVerify(true);
+        rule.jenkins.clouds.add(cloud);
+    }
+
+    @AfterEach
+    void tearDown() {
+        PersistentVolumeClaimCache.shutdown();
+    }
+
+    @Test
+    void folder_deletion_removes_claims_of_all_jobs() throws Exception {
+        int jobs = 200;
+        int others = 500;
+        Folder folder = rule.jenkins.createProject(Folder.class, "team");
+        for (int i = 0; i < jobs; i++) {
+            FreeStyleProject job = folder.createProject(FreeStyleProject.class, "job-" + i);
+            createClaim(PVCUtil.normalize(job.getFullName()));
+        }
+        for (int i = 0; i < others; i++) {
+            createClaim(PVCUtil.normalize("other/job-" + i));
+        }
+        awaitSync();
+
+        int requests = server.getRequestCount();
+        long deleted = ProvisioningMetrics.PVC_DELETE.getCount();
+        long start = System.nanoTime();
+        folder.delete();
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (!PVCCleanupQueue.get().isIdle()) {
+            assertThat(System.currentTimeMillis()).as("cleanup queue not drained").isLessThan(deadline);
+            Thread.sleep(100);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(client.persistentVolumeClaims().inNamespace(NAMESPACE).list().getItems()).hasSize(others);
+        assertThat(ProvisioningMetrics.PVC_DELETE.getCount() - deleted).isEqualTo(jobs);
+        // one delete for each claim, claims are looked up in the cache
+        assertThat(server.getRequestCount() - requests).isLessThanOrEqualTo(jobs + 10);
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(30));
+    }
+
+    private void createClaim(String name) {
+        PersistentVolumeClaim pvc = new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(name) //
+                .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes("ReadWriteOnce") //
+                .withNewResources() //
+                .addToRequests("storage", Quantity.parse("1Gi")) //
+                .endResources() //
+                .endSpec() //
+                .build();
+        client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(pvc).create();
+    }
+
+    private void awaitSync() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!PersistentVolumeClaimCache.hasSynced(client, NAMESPACE)) {
+            assertThat(System.currentTimeMillis()).as("informer not synchronised").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
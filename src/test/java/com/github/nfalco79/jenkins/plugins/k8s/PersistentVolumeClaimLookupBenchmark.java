@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesCrudDispatcher;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.mockwebserver.Context;
+import io.fabric8.mockwebserver.MockWebServer;
+import jenkins.benchmark.jmh.JmhBenchmark;
+
+/**
+ * Claim lookup done by {@link JobPVCWorkspaceVolume#createVolume} before each
+ * agent pod is launched, against an API server with a growing number of
+ * claims.
+ */
+@JmhBenchmark
+@State(Scope.Benchmark)
+public class PersistentVolumeClaimLookupBenchmark {
+    private static final String NAMESPACE = "jenkins";
+
+    @Param({ "10", "1000", "10000" })
+    public int claims;
+
+    private KubernetesMockServer server;
+    private KubernetesClient client;
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        server = new KubernetesMockServer(new Context(), new MockWebServer(), new HashMap<>(), new KubernetesCrudDispatcher(), false);
+        server.init();
+        client = server.createClient();
+        for (int i = 0; i < claims; i++) {
+            client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(newClaim(i)).create();
+        }
+        while (!PersistentVolumeClaimCache.hasSynced(client, NAMESPACE)) {
+            Thread.sleep(50);
+        }
+    }
+
+    private PersistentVolumeClaim newClaim(int index) {
+        return new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(claimName(index)) //
+                .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes("ReadWriteOnce") //
+                .withNewResources() //
+                .addToRequests("storage", Quantity.parse("10Gi")) //
+                .endResources() //
+                .endSpec() //
+                .build();
+    }
+
+    private String claimName(int index) {
+        return PVCUtil.normalize("folder/job-" + index);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        PersistentVolumeClaimCache.shutdown();
+        client.close();
+        server.destroy();
+    }
+
+    @Benchmark
+    public PersistentVolumeClaim cachedLookup() {
+        return PersistentVolumeClaimCache.get(client, NAMESPACE, claimName(ThreadLocalRandom.current().nextInt(claims)));
+    }
+
+    @Benchmark
+    public PersistentVolumeClaim apiServerLookup() {
+        return client.persistentVolumeClaims().inNamespace(NAMESPACE).withName(claimName(ThreadLocalRandom.current().nextInt(claims))).get();
+    }
+}
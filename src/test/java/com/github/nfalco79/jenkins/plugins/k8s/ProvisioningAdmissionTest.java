@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import com.github.nfalco79.jenkins.plugins.k8s.ProvisioningAdmission.Permit;
+
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceQuota;
+import io.fabric8.kubernetes.api.model.ResourceQuotaBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+
+@WithJenkins
+@EnableKubernetesMockClient(crud = true)
+class ProvisioningAdmissionTest {
+    private static final String NAMESPACE = "jenkins";
+    private static final Quantity SIZE = Quantity.parse("10Gi");
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    @BeforeEach
+    void setUp() {
+        ProvisioningConfiguration.get().setMaxConcurrentCreations(1);
+    }
+
+    @Test
+    void quota_is_checked_once_the_creation_is_admitted() throws Exception {
+        setQuotaUsage("0");
+        Permit first = ProvisioningAdmission.acquire(client, NAMESPACE, "standard", SIZE);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AtomicReference<Thread> waiter = new AtomicReference<>();
+            Future<Permit> second = executor.submit(() -> {
+                waiter.set(Thread.currentThread());
+                return ProvisioningAdmission.acquire(client, NAMESPACE, "standard", SIZE);
+            });
+            awaitWaiting(waiter);
+
+            // the claim created with the first permit consumes the quota
+            setQuotaUsage("10Gi");
+            first.close();
+
+            assertThatThrownBy(second::get).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(KubernetesClientException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // the permit of the refused creation has been released
+        setQuotaUsage("0");
+        try (Permit permit = ProvisioningAdmission.acquire(client, NAMESPACE, "standard", SIZE)) {
+            assertThat(permit).isNotNull();
+        }
+    }
+
+    @Test
+    void permit_is_held_until_the_claim_is_bound() throws Exception {
+        PersistentVolumeClaim pvc = client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(new PersistentVolumeClaimBuilder() //
+                .withNewMetadata().withName("pvc-test").endMetadata() //
+                .withNewSpec().withStorageClassName("standard").endSpec() //
+                .withNewStatus().withPhase("Pending").endStatus() //
+                .build()).create();
+        try (Permit permit = ProvisioningAdmission.acquire(client, NAMESPACE, "standard", SIZE)) {
+            permit.holdUntilBound(client, pvc);
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AtomicReference<Thread> waiter = new AtomicReference<>();
+            Future<Permit> second = executor.submit(() -> {
+                waiter.set(Thread.currentThread());
+                return ProvisioningAdmission.acquire(client, NAMESPACE, "standard", SIZE);
+            });
+            // the storage provisioner is still working on the first claim
+            awaitWaiting(waiter);
+
+            client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(new PersistentVolumeClaimBuilder(pvc) //
+                    .editStatus().withPhase("Bound").endStatus() //
+                    .build()).updateStatus();
+
+            second.get(10, TimeUnit.SECONDS).close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void setQuotaUsage(String used) {
+        ResourceQuota quota = client.resourceQuotas().inNamespace(NAMESPACE).withName("storage").get();
+        if (quota == null) {
+            quota = client.resourceQuotas().inNamespace(NAMESPACE).resource(new ResourceQuotaBuilder() //
+                    .withNewMetadata().withName("storage").endMetadata() //
+                    .withNewSpec().addToHard("requests.storage", Quantity.parse("15Gi")).endSpec() //
+                    .build()).create();
+        }
+        client.resourceQuotas().inNamespace(NAMESPACE).resource(new ResourceQuotaBuilder(quota) //
+                .withNewStatus() //
+                .addToHard("requests.storage", Quantity.parse("15Gi")) //
+                .addToUsed("requests.storage", Quantity.parse(used)) //
+                .endStatus() //
+                .build()).updateStatus();
+    }
+
+    private void awaitWaiting(AtomicReference<Thread> waiter) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (waiter.get() == null || waiter.get().getState() != Thread.State.TIMED_WAITING) {
+            assertThat(System.currentTimeMillis()).as("creation not waiting for a permit").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.model.Node;
+
+@WithJenkins
+class ShardLeasesTest {
+
+    @Test
+    void each_agent_keeps_its_own_slot(JenkinsRule rule) throws Exception {
+        rule.createSlave("pod-a", null, null);
+        rule.createSlave("pod-b", null, null);
+        ShardLeases leases = ShardLeases.get();
+
+        assertThat(leases.acquire("leased", 2, "pod-a")).isZero();
+        assertThat(leases.acquire("leased", 2, "pod-b")).isEqualTo(1);
+        assertThat(leases.acquire("leased", 2, "pod-a")).isZero();
+    }
+
+    @Test
+    void slot_is_released_when_the_agent_is_removed(JenkinsRule rule) throws Exception {
+        Node agent = rule.createSlave("pod-c", null, null);
+        rule.createSlave("pod-d", null, null);
+        rule.createSlave("pod-e", null, null);
+        ShardLeases leases = ShardLeases.get();
+        assertThat(leases.acquire("released", 2, "pod-c")).isZero();
+        assertThat(leases.acquire("released", 2, "pod-d")).isEqualTo(1);
+
+        rule.jenkins.removeNode(agent);
+
+        assertThat(leases.acquire("released", 2, "pod-e")).isZero();
+    }
+
+    @Test
+    void slots_of_agents_that_no_longer_exist_are_leased_again(JenkinsRule rule) throws Exception {
+        rule.createSlave("pod-f", null, null);
+        ShardLeases leases = ShardLeases.get();
+        // for example an agent removed while the controller was down
+        assertThat(leases.acquire("stale", 1, "pod-gone")).isZero();
+
+        assertThat(leases.acquire("stale", 1, "pod-f")).isZero();
+        assertThat(leases.acquire("stale", 1, "pod-f")).isZero();
+    }
+
+    @Test
+    void busy_slots_are_shared(JenkinsRule rule) throws Exception {
+        rule.createSlave("pod-g", null, null);
+        rule.createSlave("pod-h", null, null);
+        ShardLeases leases = ShardLeases.get();
+        assertThat(leases.acquire("busy", 1, "pod-g")).isZero();
+
+        assertThat(leases.acquire("busy", 1, "pod-h")).isZero();
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.model.FreeStyleProject;
+import hudson.util.FormValidation;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+
+@WithJenkins
+@EnableKubernetesMockClient(crud = true)
+class StorageTieringTest {
+    private static final String NAMESPACE = "jenkins";
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    @AfterEach
+    void tearDown() {
+        PersistentVolumeClaimCache.shutdown();
+    }
+
+    @Test
+    void tier_is_chosen_by_builds_in_window(JenkinsRule rule) throws Exception {
+        FreeStyleProject job = rule.createFreeStyleProject("frequent");
+        rule.buildAndAssertSuccess(job);
+        rule.buildAndAssertSuccess(job);
+
+        assertThat(StorageTiering.isHot(job, 2, 7)).isTrue();
+        assertThat(StorageTiering.isHot(job, 3, 7)).isFalse();
+    }
+
+    @Test
+    void tier_is_disabled_until_both_storage_classes_are_set(JenkinsRule rule) throws Exception {
+        rule.createFreeStyleProject("job");
+        ProvisioningConfiguration config = ProvisioningConfiguration.get();
+        config.setHotBuildThreshold(1);
+        config.setHotStorageClassName("ssd");
+        assertThat(StorageTiering.storageClassOf("job")).isNull();
+
+        config.setColdStorageClassName("hdd");
+        assertThat(StorageTiering.storageClassOf("job")).isEqualTo("hdd");
+        assertThat(StorageTiering.storageClassOf("missing")).isNull();
+    }
+
+    @Test
+    void tier_is_disabled_when_both_use_the_same_storage_class(JenkinsRule rule) throws Exception {
+        rule.createFreeStyleProject("job");
+        createClaim("job", "ssd");
+        ProvisioningConfiguration config = ProvisioningConfiguration.get();
+        config.setHotBuildThreshold(1);
+        config.setHotStorageClassName("ssd");
+        config.setColdStorageClassName("ssd");
+
+        assertThat(config.isTieringEnabled()).isFalse();
+        assertThat(config.doCheckColdStorageClassName("ssd", "ssd").kind).isEqualTo(FormValidation.Kind.ERROR);
+        assertThat(StorageTiering.getMovable(client, NAMESPACE, 0)).isEmpty();
+    }
+
+    @Test
+    void claim_is_used_when_its_move_completes(JenkinsRule rule) throws Exception {
+        rule.createFreeStyleProject("moving");
+        createClaim("moving", "ssd");
+        String pvcName = PVCUtil.normalize("moving");
+        client.persistentVolumeClaims().inNamespace(NAMESPACE).withName(pvcName).edit(p -> new PersistentVolumeClaimBuilder(p) //
+                .editMetadata().addToAnnotations(K8sConstants.ANNOTATION_MOVING, Instant.now().toString()).endMetadata() //
+                .build());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> build = executor.submit(() -> StorageTiering.awaitMove(client, NAMESPACE, pvcName));
+            Thread.sleep(500);
+            assertThat(build).isNotDone();
+
+            client.persistentVolumeClaims().inNamespace(NAMESPACE).withName(pvcName).edit(p -> new PersistentVolumeClaimBuilder(p) //
+                    .editMetadata().removeFromAnnotations(K8sConstants.ANNOTATION_MOVING).endMetadata() //
+                    .build());
+            build.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void mark_of_an_interrupted_move_is_ignored(JenkinsRule rule) throws Exception {
+        rule.createFreeStyleProject("moving");
+        createClaim("moving", "ssd");
+        String pvcName = PVCUtil.normalize("moving");
+        client.persistentVolumeClaims().inNamespace(NAMESPACE).withName(pvcName).edit(p -> new PersistentVolumeClaimBuilder(p) //
+                .editMetadata().addToAnnotations(K8sConstants.ANNOTATION_MOVING, Instant.now().minus(1, ChronoUnit.DAYS).toString()).endMetadata() //
+                .build());
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> StorageTiering.awaitMove(client, NAMESPACE, pvcName));
+    }
+
+    @Test
+    void only_claims_not_in_use_are_moved(JenkinsRule rule) throws Exception {
+        enableTiering();
+        rule.createFreeStyleProject("idle");
+        rule.createFreeStyleProject("busy");
+        rule.createFreeStyleProject("cold");
+        rule.createFreeStyleProject("custom");
+        createClaim("idle", "ssd");
+        createClaim("busy", "ssd");
+        createClaim("cold", "hdd");
+        // a storage class chosen by the volume configuration
+        createClaim("custom", "standard");
+        client.pods().inNamespace(NAMESPACE).resource(new PodBuilder() //
+                .withNewMetadata().withName("agent").endMetadata() //
+                .withNewSpec() //
+                .addNewVolume() //
+                .withName("workspace-volume") //
+                .withNewPersistentVolumeClaim().withClaimName(PVCUtil.normalize("busy")).endPersistentVolumeClaim() //
+                .endVolume() //
+                .endSpec() //
+                .build()).create();
+
+        Map<PersistentVolumeClaim, String> movable = StorageTiering.getMovable(client, NAMESPACE, 0);
+
+        assertThat(movable).hasSize(1);
+        Map.Entry<PersistentVolumeClaim, String> entry = movable.entrySet().iterator().next();
+        assertThat(entry.getKey().getMetadata().getName()).isEqualTo(PVCUtil.normalize("idle"));
+        assertThat(entry.getValue()).isEqualTo("hdd");
+    }
+
+    @Test
+    void claims_stay_in_their_storage_class_for_the_minimum_time(JenkinsRule rule) throws Exception {
+        enableTiering();
+        rule.createFreeStyleProject("idle");
+        createClaim("idle", "ssd");
+
+        assertThat(StorageTiering.getMovable(client, NAMESPACE, TimeUnit.DAYS.toMillis(7))).isEmpty();
+        assertThat(StorageTiering.getMovable(client, NAMESPACE, 0)).hasSize(1);
+    }
+
+    private void enableTiering() {
+        ProvisioningConfiguration config = ProvisioningConfiguration.get();
+        config.setHotStorageClassName("ssd");
+        config.setColdStorageClassName("hdd");
+        config.setHotBuildThreshold(1);
+    }
+
+    private void createClaim(String jobName, String storageClassName) {
+        client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(PVCUtil.normalize(jobName)) //
+                .withNamespace(NAMESPACE) //
+                .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                .addToAnnotations(K8sConstants.ANNOTATION_JOB, jobName) //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes("ReadWriteOnce") //
+                .withStorageClassName(storageClassName) //
+                .withNewResources() //
+                .addToRequests("storage", Quantity.parse("1Gi")) //
+                .endResources() //
+                .endSpec() //
+                .build()).create();
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.csanchez.jenkins.plugins.kubernetes.KubernetesCloud;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import hudson.ExtensionList;
+import hudson.model.TaskListener;
+import io.fabric8.kubernetes.api.model.PersistentVolume;
+import io.fabric8.kubernetes.api.model.PersistentVolumeBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.StatusBuilder;
+import io.fabric8.kubernetes.api.model.storage.StorageClassBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+
+@WithJenkins
+@EnableKubernetesMockClient(crud = true)
+class WarmPoolTest {
+    private static final String NAMESPACE = "jenkins";
+    private static final String POOL_CLAIM = "pvc-pool-1";
+    private static final String VOLUME = "pv-pool-1";
+
+    KubernetesMockServer server;
+    KubernetesClient client;
+
+    private WarmPoolTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        template = new WarmPoolTemplate("kubernetes", "standard", "10Gi", "ReadWriteOnce", 1);
+        ProvisioningConfiguration.get().setWarmPools(List.of(template));
+    }
+
+    @AfterEach
+    void tearDown() {
+        PersistentVolumeClaimCache.shutdown();
+    }
+
+    @Test
+    void pool_volume_is_handed_over_to_the_job_claim() throws Exception {
+        createVolume("Retain");
+        createPoolClaim();
+
+        PersistentVolumeClaim pvc = WarmPool.adopt(client, NAMESPACE, jobClaim(), template);
+
+        assertThat(pvc).isNotNull();
+        assertThat(pvc.getSpec().getVolumeName()).isEqualTo(VOLUME);
+        assertThat(poolClaim()).isNull();
+        PersistentVolume pv = client.persistentVolumes().withName(VOLUME).get();
+        assertThat(pv.getSpec().getClaimRef().getName()).isEqualTo("job");
+        assertThat(WarmPool.getHits(template.getKey())).isEqualTo(1);
+    }
+
+    @Test
+    void pool_claim_goes_back_available_when_the_hand_over_fails_before_release() throws Exception {
+        // the bound volume does not exist anymore
+        createPoolClaim();
+
+        assertThat(WarmPool.adopt(client, NAMESPACE, jobClaim(), template)).isNull();
+
+        PersistentVolumeClaim poolClaim = poolClaim();
+        assertThat(poolClaim).isNotNull();
+        assertThat(poolClaim.getMetadata().getLabels()).containsEntry(K8sConstants.LABEL_POOL_STATE, K8sConstants.POOL_STATE_AVAILABLE);
+    }
+
+    @Test
+    void released_volume_is_unbound_and_gets_its_reclaim_policy_back_when_the_hand_over_fails() throws Exception {
+        createVolume("Delete");
+        createPoolClaim();
+        server.expect().post().withPath("/api/v1/namespaces/" + NAMESPACE + "/persistentvolumeclaims") //
+                .andReturn(500, new StatusBuilder().withCode(500).withMessage("boom").build()) //
+                .once();
+
+        assertThat(WarmPool.adopt(client, NAMESPACE, jobClaim(), template)).isNull();
+
+        PersistentVolume pv = client.persistentVolumes().withName(VOLUME).get();
+        assertThat(pv.getSpec().getClaimRef()).isNull();
+        assertThat(pv.getSpec().getPersistentVolumeReclaimPolicy()).isEqualTo("Delete");
+    }
+
+    @Test
+    void existing_job_claim_missing_from_the_cache_is_not_adopted() throws Exception {
+        createVolume("Delete");
+        createPoolClaim();
+        awaitSync();
+        // created behind the informer
+        client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(jobClaim()).create();
+
+        assertThat(WarmPool.adopt(client, NAMESPACE, jobClaim(), template)).isNull();
+
+        assertThat(poolClaim().getMetadata().getLabels()).containsEntry(K8sConstants.LABEL_POOL_STATE, K8sConstants.POOL_STATE_AVAILABLE);
+        assertThat(client.persistentVolumes().withName(VOLUME).get().getSpec().getPersistentVolumeReclaimPolicy()).isEqualTo("Delete");
+    }
+
+    @Test
+    void claims_of_removed_pools_are_deleted(JenkinsRule rule) throws Exception {
+        addCloud(rule);
+        createPoolClaim();
+        awaitSync();
+        ProvisioningConfiguration.get().setWarmPools(List.of());
+
+        ExtensionList.lookupSingleton(WarmPool.Refiller.class).execute(TaskListener.NULL);
+
+        assertThat(poolClaim()).isNull();
+    }
+
+    @Test
+    void pool_of_a_storage_class_that_waits_for_the_consumer_is_not_filled(JenkinsRule rule) throws Exception {
+        addCloud(rule);
+        client.storage().v1().storageClasses().resource(new StorageClassBuilder() //
+                .withNewMetadata().withName("standard").endMetadata() //
+                .withProvisioner("csi.example.com") //
+                .withVolumeBindingMode("WaitForFirstConsumer") //
+                .build()).create();
+        awaitSync();
+
+        ExtensionList.lookupSingleton(WarmPool.Refiller.class).execute(TaskListener.NULL);
+
+        assertThat(client.persistentVolumeClaims().inNamespace(NAMESPACE).withLabel(K8sConstants.LABEL_POOL).list().getItems()).isEmpty();
+    }
+
+    private void addCloud(JenkinsRule rule) {
+        KubernetesCloud cloud = new KubernetesCloud("kubernetes");
+        cloud.setServerUrl(client.getMasterUrl().toString());
+        cloud.setNamespace(NAMESPACE);
+        cloud.setSkipTlsVerify(true);
+        rule.jenkins.clouds.add(cloud);
+    }
+
+    private void createVolume(String reclaimPolicy) {
+        client.persistentVolumes().resource(new PersistentVolumeBuilder() //
+                .withNewMetadata().withName(VOLUME).endMetadata() //
+                .withNewSpec() //
+                .withPersistentVolumeReclaimPolicy(reclaimPolicy) //
+                .withStorageClassName("standard") //
+                .addToCapacity("storage", Quantity.parse("10Gi")) //
+                .withNewClaimRef().withNamespace(NAMESPACE).withName(POOL_CLAIM).endClaimRef() //
+                .endSpec() //
+                .build()).create();
+    }
+
+    private void createPoolClaim() {
+        PersistentVolumeClaim pvc = client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName(POOL_CLAIM) //
+                .addToLabels(K8sConstants.LABEL_POOL, template.getKey()) //
+                .addToLabels(K8sConstants.LABEL_POOL_STATE, K8sConstants.POOL_STATE_AVAILABLE) //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes("ReadWriteOnce") //
+                .withStorageClassName("standard") //
+                .withVolumeName(VOLUME) //
+                .withNewResources().addToRequests("storage", Quantity.parse("10Gi")).endResources() //
+                .endSpec() //
+                .build()).create();
+        client.persistentVolumeClaims().inNamespace(NAMESPACE).resource(new PersistentVolumeClaimBuilder(pvc) //
+                .withNewStatus().withPhase("Bound").endStatus() //
+                .build()).updateStatus();
+    }
+
+    private PersistentVolumeClaim jobClaim() {
+        return new PersistentVolumeClaimBuilder() //
+                .withNewMetadata() //
+                .withName("job") //
+                .withNamespace(NAMESPACE) //
+                .addToLabels(K8sConstants.LABEL_MANAGED, "true") //
+                .endMetadata() //
+                .withNewSpec() //
+                .withAccessModes("ReadWriteOnce") //
+                .withStorageClassName("standard") //
+                .withNewResources().addToRequests("storage", Quantity.parse("10Gi")).endResources() //
+                .endSpec() //
+                .build();
+    }
+
+    private PersistentVolumeClaim poolClaim() {
+        return client.persistentVolumeClaims().inNamespace(NAMESPACE).withName(POOL_CLAIM).get();
+    }
+
+    private void awaitSync() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!PersistentVolumeClaimCache.hasSynced(client, NAMESPACE)) {
+            assertThat(System.currentTimeMillis()).as("informer not synchronised").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class CPUTest {
+
+    @ParameterizedTest
+    @CsvSource({ "amd64,AMD64", "x86_64,AMD64", "aarch64,ARM64", "arm64,ARM64", "ppc64le,PPC64LE", "s390x,S390X" })
+    void detect_kubernetes_architecture(String osArch, CPU expected) throws Exception {
+        assertThat(CPU.detect(Map.of("os.arch", osArch))).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "x86", "arm" })
+    void unsupported_architecture(String osArch) {
+        assertThatThrownBy(() -> CPU.detect(Map.of("os.arch", osArch))).isInstanceOf(DetectionFailedException.class);
+    }
+}
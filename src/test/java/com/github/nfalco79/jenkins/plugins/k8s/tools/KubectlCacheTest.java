@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import com.github.nfalco79.jenkins.plugins.k8s.ProvisioningMetrics;
+
+@WithJenkins
+class KubectlCacheTest {
+    private static final long MB = 1024L * 1024;
+
+    private File entry(JenkinsRule rule, char c, long hoursAgo) throws Exception {
+        File dir = new File(rule.jenkins.getRootDir(), "caches/k8s-provisioning/sha256");
+        File entry = new File(dir, String.valueOf(c).repeat(64));
+        Files.createDirectories(dir.toPath());
+        Files.write(entry.toPath(), new byte[(int) MB]);
+        assertThat(entry.setLastModified(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(hoursAgo))).isTrue();
+        return entry;
+    }
+
+    @Test
+    void evict_least_recently_used_entries(JenkinsRule rule) throws Exception {
+        File oldest = entry(rule, 'a', 3);
+        File older = entry(rule, 'b', 2);
+        File used = entry(rule, 'c', 4);
+        KubectlCache cache = KubectlCache.get();
+        cache.link("https://dl.k8s.io/release/v1.34.0/bin/linux/amd64/kubectl", used.getName());
+        assertThat(cache.lookup("https://dl.k8s.io/release/v1.34.0/bin/linux/amd64/kubectl")).isEqualTo(used);
+
+        long evicted = ProvisioningMetrics.KUBECTL_CACHE_EVICT.getCount();
+        cache.sweep(2 * MB);
+
+        assertThat(oldest).doesNotExist();
+        assertThat(older).exists();
+        assertThat(used).exists();
+        assertThat(ProvisioningMetrics.KUBECTL_CACHE_EVICT.getCount()).isEqualTo(evicted + 1);
+        assertThat(ProvisioningMetrics.KUBECTL_CACHE_SIZE.get()).isEqualTo(2 * MB);
+    }
+}
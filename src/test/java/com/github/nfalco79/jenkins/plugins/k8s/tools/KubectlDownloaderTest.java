@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import hudson.Util;
+
+class KubectlDownloaderTest {
+
+    @TempDir
+    Path folder;
+
+    private HttpServer server;
+    private final byte[] binary = new byte[256 * 1024];
+    private String digest;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile boolean resetOnce;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        new Random(42).nextBytes(binary);
+        digest = Util.toHexString(MessageDigest.getInstance("SHA-256").digest(binary));
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/kubectl", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (exchange.getRequestURI().getPath().endsWith(".sha256")) {
+            byte[] body = (digest + "  kubectl\n").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+            return;
+        }
+        requests.incrementAndGet();
+        int offset = 0;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        if (range != null) {
+            offset = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+            exchange.getResponseHeaders().add("Content-Range", "bytes " + offset + "-" + (binary.length - 1) + "/" + binary.length);
+        }
+        exchange.sendResponseHeaders(range != null ? 206 : 200, binary.length - offset);
+        OutputStream os = exchange.getResponseBody();
+        if (resetOnce) {
+            // drop the connection half way
+            resetOnce = false;
+            os.write(binary, offset, (binary.length - offset) / 2);
+            os.flush();
+            // closing before the declared length drops the connection
+            exchange.close();
+            return;
+        }
+        os.write(binary, offset, binary.length - offset);
+        os.close();
+    }
+
+    private URL url() throws IOException {
+        return new URL("http://localhost:" + server.getAddress().getPort() + "/kubectl");
+    }
+
+    @Test
+    void fetch_published_digest() throws Exception {
+        assertThat(KubectlDownloader.fetchDigest(url())).isEqualTo(digest);
+    }
+
+    @Test
+    void resume_interrupted_download() throws Exception {
+        resetOnce = true;
+        Path target = folder.resolve("kubectl");
+
+        KubectlDownloader.download(url(), target, digest);
+
+        assertThat(requests).hasValue(2);
+        assertThat(Files.readAllBytes(target)).isEqualTo(binary);
+    }
+
+    @Test
+    void reject_binary_with_wrong_checksum() throws Exception {
+        Path target = folder.resolve("kubectl");
+        String wrong = digest.replace(digest.charAt(0), digest.charAt(0) == 'a' ? 'b' : 'a');
+
+        assertThatThrownBy(() -> KubectlDownloader.download(url(), target, wrong)).isInstanceOf(IOException.class);
+        assertThat(target).doesNotExist();
+        assertThat(folder.resolve("kubectl.part")).doesNotExist();
+    }
+}
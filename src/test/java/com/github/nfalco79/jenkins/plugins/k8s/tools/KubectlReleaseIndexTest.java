@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import com.github.nfalco79.jenkins.plugins.k8s.tools.KubectlInstaller.KubectlInstallable;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+@WithJenkins
+class KubectlReleaseIndexTest {
+    private static final String ETAG = "\"releases-1\"";
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private String defaultURL;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/releases", this::handle);
+        server.start();
+        defaultURL = KubectlReleaseIndex.releasesURL;
+        KubectlReleaseIndex.releasesURL = "http://localhost:" + server.getAddress().getPort() + "/releases";
+    }
+
+    @AfterEach
+    void tearDown() {
+        KubectlReleaseIndex.releasesURL = defaultURL;
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        // page 1 is full, page 2 is the last one
+        boolean firstPage = exchange.getRequestURI().getQuery().endsWith("page=1");
+        JSONArray page = new JSONArray();
+        int from = firstPage ? 0 : 100;
+        int to = firstPage ? 100 : 130;
+        for (int patch = from; patch < to; patch++) {
+            JSONObject release = new JSONObject();
+            release.put("tag_name", "v1.0." + patch);
+            release.put("name", "v1.0." + patch);
+            release.put("prerelease", false);
+            release.put("draft", false);
+            page.add(release);
+        }
+        byte[] body = page.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("ETag", ETAG);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    @Test
+    void refresh_is_conditional_and_sorted() throws Exception {
+        KubectlReleaseIndex index = KubectlReleaseIndex.get();
+        index.refresh();
+        assertThat(requests).hasValue(2);
+
+        assertThat(index.getReleases()).hasSize(130) //
+                .first() //
+                .extracting((KubectlInstallable i) -> i.id) //
+                .isEqualTo("v1.0.129");
+
+        index.refresh();
+        assertThat(requests).hasValue(3);
+        assertThat(index.getReleases()).hasSize(130);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Nikolas Falco
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.k8s.tools;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.nfalco79.jenkins.plugins.k8s.tools.KubectlInstaller.KubectlInstallable;
+
+import jenkins.benchmark.jmh.JmhBenchmark;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * Parsing and sorting of the GitHub release pages of Kubernetes.
+ */
+@JmhBenchmark
+@State(Scope.Benchmark)
+public class KubectlReleasesBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    private final List<JSONArray> pages = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // about the number of releases published by kubernetes so far
+        JSONArray page = new JSONArray();
+        for (int minor = 0; minor <= 34; minor++) {
+            for (int patch = 0; patch <= 15; patch++) {
+                addRelease(page, "v1." + minor + "." + patch, false);
+                addRelease(page, "v1." + minor + "." + patch + "-rc.0", true);
+                if (page.size() >= PAGE_SIZE) {
+                    pages.add(page);
+                    page = new JSONArray();
+                }
+            }
+        }
+        pages.add(page);
+    }
+
+    private void addRelease(JSONArray page, String tag, boolean prerelease) {
+        JSONObject release = new JSONObject();
+        release.put("tag_name", tag);
+        release.put("name", tag);
+        release.put("prerelease", prerelease);
+        release.put("draft", false);
+        page.add(release);
+    }
+
+    @Benchmark
+    public List<KubectlInstallable> parseReleases() {
+        List<KubectlInstallable> installables = new ArrayList<>();
+        Set<String> known = new HashSet<>();
+        for (JSONArray page : pages) {
+            KubectlReleaseIndex.addReleases(page, installables, known);
+        }
+        KubectlReleaseIndex.sort(installables);
+        return installables;
+    }
+}